@@ -1,9 +1,21 @@
 package org.buildozers.mvnjava21;
 
+import java.io.IOException;
+
+import org.buildozers.mvnjava21.analytics.Analytics;
+import org.buildozers.mvnjava21.analytics.AnalyticsServer;
+
 public class MainProg {
 
-    public static void main(String... args) {
+    public static void main(String... args) throws IOException {
         System.out.println(MainProg.getMessage());
+        if (args.length > 0 && "--serve".equals(args[0])) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : AnalyticsServer.DEFAULT_PORT;
+            AnalyticsServer.preferNoDelay();
+            AnalyticsServer server = AnalyticsServer.start(port, Analytics.sample());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            System.out.println("Serving analytics on http://localhost:" + server.port());
+        }
     }
 
     public static String getMessage() {
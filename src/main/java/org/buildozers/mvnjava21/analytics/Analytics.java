@@ -0,0 +1,204 @@
+package org.buildozers.mvnjava21.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.Product;
+import org.buildozers.mvnjava21.examples.SampleData;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.map.ConcurrentMutableMap;
+import org.eclipse.collections.api.map.ImmutableMap;
+import org.eclipse.collections.api.multimap.bag.ImmutableBagMultimap;
+import org.eclipse.collections.api.set.ImmutableSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.eclipse.collections.impl.utility.Iterate;
+
+/**
+ * 📈 Analytics
+ *
+ * Analytics queries over in-memory {@link Product} and {@link Customer} data, safe to share
+ * between concurrent requests.
+ *
+ * <p>Products (append-only) and customers live in concurrent collections, each with a version
+ * counter. A mutation changes the collection in place, in O(1) rather than by copying the data, and
+ * only then bumps the version. Queries never lock: they read the version first and compute over the
+ * live data, so a result is memoized in the {@link QueryCache} under a version it is at least as
+ * fresh as, and any later mutation invalidates it. Results computed while a mutation is in progress
+ * are weakly consistent, like iteration over the underlying concurrent collections.
+ */
+public final class Analytics {
+
+    public static final long DEFAULT_CACHE_WEIGHT = 100_000L;
+
+    /**
+     * Set operations available between two named feature sets.
+     */
+    public enum SetOperation {
+        UNION, INTERSECT, DIFFERENCE, SYMMETRIC_DIFFERENCE;
+
+        public static SetOperation fromPath(String value) {
+            return SetOperation.valueOf(value.toUpperCase().replace('-', '_'));
+        }
+
+        /**
+         * @return the name used in request paths, e.g. {@code symmetric-difference}
+         */
+        public String toPath() {
+            return this.name().toLowerCase().replace('_', '-');
+        }
+    }
+
+    private final Queue<Product> products;
+    private final AtomicInteger productCount;
+    private final ProductTimeIndex createdAtIndex;
+    private final AtomicLong productsVersion = new AtomicLong();
+    private final ConcurrentMutableMap<String, Customer> customers;
+    private final AtomicLong customersVersion = new AtomicLong();
+    private final ImmutableMap<String, ImmutableSet<String>> featureSets;
+    private final QueryCache cache;
+
+    public Analytics(ImmutableList<Product> products,
+                     ImmutableMap<String, Customer> customers,
+                     ImmutableMap<String, ImmutableSet<String>> featureSets) {
+        this(products, customers, featureSets, new QueryCache(DEFAULT_CACHE_WEIGHT));
+    }
+
+    public Analytics(ImmutableList<Product> products,
+                     ImmutableMap<String, Customer> customers,
+                     ImmutableMap<String, ImmutableSet<String>> featureSets,
+                     QueryCache cache) {
+        this.products = new ConcurrentLinkedQueue<>(products.castToList());
+        this.productCount = new AtomicInteger(products.size());
+        this.createdAtIndex = ProductTimeIndex.of(products);
+        this.customers = ConcurrentHashMap.newMap(customers.castToMap());
+        this.featureSets = featureSets;
+        this.cache = cache;
+    }
+
+    /**
+     * @return analytics over the showcase {@link SampleData}
+     */
+    public static Analytics sample() {
+        return new Analytics(
+            SampleData.products().toImmutable(),
+            SampleData.customers().toImmutable(),
+            Maps.immutable.of(
+                "electronics", SampleData.electronicsFeatures().toImmutable(),
+                "premium", SampleData.premiumFeatures().toImmutable(),
+                "mobile", SampleData.mobileFeatures().toImmutable()));
+    }
+
+    // Mutations: applied in place, then the version is bumped to invalidate the cached queries over that collection
+
+    /**
+     * Adds a product to the list and the {@code createdAt} index before publishing the new version.
+     */
+    public void addProduct(Product product) {
+        products.add(product);
+        createdAtIndex.add(product);
+        productCount.incrementAndGet();
+        productsVersion.incrementAndGet();
+    }
+
+    public void putCustomer(String id, Customer customer) {
+        customers.put(id, customer);
+        customersVersion.incrementAndGet();
+    }
+
+    public void removeCustomer(String id) {
+        if (customers.remove(id) != null) {
+            customersVersion.incrementAndGet();
+        }
+    }
+
+    // Product queries
+
+    public int productCount() {
+        return productCount.get();
+    }
+
+    public double totalInventoryValue() {
+        return cache.get(Lists.immutable.of("products/total-value"), productsVersion.get(), value -> 1L,
+            () -> Iterate.sumOfDouble(products, Product::getTotalValue));
+    }
+
+    public ImmutableList<Product> expensiveProducts() {
+        return cache.get(Lists.immutable.of("products/expensive"), productsVersion.get(), list -> list.size() + 1L,
+            () -> Iterate.select(products, Product::isExpensive, Lists.mutable.empty()).toImmutable());
+    }
+
+    /**
+     * Count and value of the products created in the {@code days} days up to {@code now},
+     * answered from the time index (not cached: it depends on {@code now} and is already cheap).
+     */
+    public ProductTimeIndex.RangeSummary recentProducts(LocalDateTime now, int days) {
+        return createdAtIndex.recent(now, days);
+    }
+
+    /**
+     * Count and value of the products created per {@code step} window in {@code [from, to)}.
+     */
+    public ImmutableList<ProductTimeIndex.RangeSummary> productCreationRollup(LocalDateTime from, LocalDateTime to, Duration step) {
+        return createdAtIndex.rollup(from, to, step);
+    }
+
+    // Customer queries
+
+    public int customerCount() {
+        return customers.size();
+    }
+
+    public int premiumCustomerCount() {
+        return cache.get(Lists.immutable.of("customers/premium-count"), customersVersion.get(), value -> 1L,
+            () -> customers.count(Customer::isPremium));
+    }
+
+    public double averageSpending() {
+        // One pass, so the sum and the count come from the same iteration
+        return cache.get(Lists.immutable.of("customers/average-spending"), customersVersion.get(), value -> 1L,
+            () -> customers.summarizeDouble(Customer::getTotalSpent).getAverage());
+    }
+
+    public ImmutableBagMultimap<String, Customer> customersByCity() {
+        return cache.get(Lists.immutable.of("customers/by-city"), customersVersion.get(), multimap -> multimap.size() + 1L,
+            () -> customers.groupBy(Customer::getCity).toImmutable());
+    }
+
+    // Feature set queries (feature sets are fixed, so results never go stale)
+
+    /**
+     * Applies {@code operation} between two named feature sets.
+     *
+     * @throws IllegalArgumentException if either set name is unknown
+     */
+    public ImmutableSet<String> features(SetOperation operation, String left, String right) {
+        ImmutableSet<String> leftSet = this.featureSet(left);
+        ImmutableSet<String> rightSet = this.featureSet(right);
+        return cache.get(Lists.immutable.of("features", operation, left, right), 0L, set -> set.size() + 1L,
+            () -> switch (operation) {
+                case UNION -> leftSet.union(rightSet);
+                case INTERSECT -> leftSet.intersect(rightSet);
+                case DIFFERENCE -> leftSet.difference(rightSet);
+                case SYMMETRIC_DIFFERENCE -> leftSet.symmetricDifference(rightSet);
+            });
+    }
+
+    public QueryCache.Stats cacheStats() {
+        return cache.stats();
+    }
+
+    private ImmutableSet<String> featureSet(String name) {
+        ImmutableSet<String> set = name == null ? null : featureSets.get(name);
+        if (set == null) {
+            throw new IllegalArgumentException("Unknown feature set: " + name + " (known: " + featureSets.keysView().makeString(", ") + ")");
+        }
+        return set;
+    }
+}
@@ -0,0 +1,179 @@
+package org.buildozers.mvnjava21.analytics;
+
+import static org.buildozers.mvnjava21.examples.ConsoleColors.blank;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.green;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.separator;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.whiteLabel;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.whiteLabelBold;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.yellow;
+import static org.fusesource.jansi.Ansi.Color.CYAN;
+import static org.fusesource.jansi.Ansi.Color.GREEN;
+import static org.fusesource.jansi.Ansi.Color.MAGENTA;
+import static org.fusesource.jansi.Ansi.Color.RED;
+import static org.fusesource.jansi.Ansi.Color.YELLOW;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+import org.fusesource.jansi.AnsiConsole;
+
+/**
+ * 🏋️ Analytics Load Test
+ *
+ * Local load-test harness for {@link AnalyticsServer}: a fixed number of virtual-thread clients
+ * issue requests round-robin over every endpoint for a given duration, then throughput and
+ * latency percentiles are reported. The first fifth of the run is a warm-up and is not measured.
+ *
+ * <p>Usage: {@code AnalyticsLoadTest [--url http://host:port] [--concurrency N] [--duration seconds]}.
+ * Without {@code --url}, an in-process server is started on an ephemeral port.
+ */
+public final class AnalyticsLoadTest {
+
+    private static final ImmutableList<String> ENDPOINTS = Lists.immutable.of(
+        "/products/total-value",
+        "/products/expensive",
+        "/products/recent?days=7",
+        "/products/created-per-week?weeks=4",
+        "/customers/premium-count",
+        "/customers/average-spending",
+        "/customers/by-city",
+        "/features/intersect?left=electronics&right=premium",
+        "/features/union?left=premium&right=mobile");
+
+    private AnalyticsLoadTest() {
+        // Entry point only - prevent instantiation
+    }
+
+    /**
+     * Latencies and failures recorded by one client.
+     */
+    private record ClientResult(MutableLongList latencies, long failures) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int concurrency = 64;
+        int durationSeconds = 10;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--concurrency" -> concurrency = Integer.parseInt(args[i + 1]);
+                case "--duration" -> durationSeconds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        AnsiConsole.systemInstall();
+        AnalyticsServer.preferNoDelay();
+        AnalyticsServer server = url == null ? AnalyticsServer.start(0, Analytics.sample()) : null;
+        try {
+            String baseUrl = server == null ? url : "http://localhost:" + server.port();
+            run(baseUrl, concurrency, Duration.ofSeconds(durationSeconds));
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+            AnsiConsole.systemUninstall();
+        }
+    }
+
+    private static void run(String baseUrl, int concurrency, Duration duration) throws Exception {
+        separator();
+        yellow("🏋️ Analytics load test against " + baseUrl);
+        green("✨ " + concurrency + " virtual-thread clients for " + duration.toSeconds() + "s");
+        separator();
+
+        ImmutableList<URI> uris = ENDPOINTS.collect(endpoint -> URI.create(baseUrl + endpoint));
+        long start = System.nanoTime();
+        long measureFrom = start + duration.toNanos() / 5;
+        long end = start + duration.toNanos();
+        LongAdder ioErrors = new LongAdder();
+
+        MutableList<ClientResult> results = Lists.mutable.empty();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder()
+                 .executor(executor)
+                 .version(HttpClient.Version.HTTP_1_1)
+                 .build()) {
+            MutableList<Future<ClientResult>> clients = Lists.mutable.empty();
+            for (int c = 0; c < concurrency; c++) {
+                int offset = c;
+                clients.add(executor.submit(() -> runClient(client, uris, offset, measureFrom, end, ioErrors)));
+            }
+            for (Future<ClientResult> future : clients) {
+                results.add(future.get());
+            }
+        }
+        report(results, (end - measureFrom) / 1_000_000_000.0, ioErrors.sum());
+    }
+
+    private static ClientResult runClient(HttpClient client, ImmutableList<URI> uris, int offset,
+                                          long measureFrom, long end, LongAdder errors) {
+        MutableLongList latencies = LongLists.mutable.empty();
+        long failures = 0;
+        for (int i = offset; System.nanoTime() < end; i++) {
+            HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+            long sent = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                long received = System.nanoTime();
+                if (sent >= measureFrom) {
+                    if (response.statusCode() == 200) {
+                        latencies.add(received - sent);
+                    } else {
+                        failures++;
+                    }
+                }
+            } catch (IOException e) {
+                errors.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return new ClientResult(latencies, failures);
+    }
+
+    private static void report(MutableList<ClientResult> results, double seconds, long errors) {
+        MutableLongList latencies = LongLists.mutable.withInitialCapacity(
+            (int) results.sumOfInt(result -> result.latencies().size()));
+        results.forEach(result -> latencies.addAll(result.latencies()));
+        latencies.sortThis();
+        long failures = results.sumOfLong(ClientResult::failures);
+
+        blank();
+        whiteLabelBold("📨 Requests measured: ", String.valueOf(latencies.size()), CYAN);
+        whiteLabelBold("🚀 Throughput: ", String.format("%.0f req/s", latencies.size() / seconds), GREEN);
+        whiteLabel("⏱️  p50 latency: ", formatMillis(percentile(latencies, 0.50)), CYAN);
+        whiteLabel("⏱️  p90 latency: ", formatMillis(percentile(latencies, 0.90)), CYAN);
+        whiteLabelBold("⏱️  p99 latency: ", formatMillis(percentile(latencies, 0.99)), MAGENTA);
+        whiteLabel("⏱️  max latency: ", formatMillis(latencies.isEmpty() ? 0L : latencies.getLast()), YELLOW);
+        whiteLabel("❌ Non-200 responses / I/O errors: ", failures + " / " + errors, RED);
+        separator();
+    }
+
+    private static long percentile(MutableLongList sorted, double fraction) {
+        if (sorted.isEmpty()) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(fraction * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f ms", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,369 @@
+package org.buildozers.mvnjava21.analytics;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+
+import org.buildozers.mvnjava21.analytics.Analytics.SetOperation;
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.Product;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.java.Log;
+
+/**
+ * 🌐 Analytics Server
+ *
+ * Embedded HTTP endpoint exposing {@link Analytics} queries as JSON, built on the JDK's
+ * {@code com.sun.net.httpserver} with one virtual thread per request.
+ *
+ * <p>Endpoints (all {@code GET}):
+ * <ul>
+ *   <li>{@code /products/total-value}</li>
+ *   <li>{@code /products/expensive}</li>
+ *   <li>{@code /products/recent?days=N} (1 to 3660)</li>
+ *   <li>{@code /products/created-per-week?weeks=N} (1 to 520)</li>
+ *   <li>{@code /customers/premium-count}</li>
+ *   <li>{@code /customers/average-spending}</li>
+ *   <li>{@code /customers/by-city}</li>
+ *   <li>{@code /features/{union|intersect|difference|symmetric-difference}?left=..&right=..}</li>
+ *   <li>{@code /cache/stats}</li>
+ * </ul>
+ *
+ * <p>Successful responses are streamed through a {@link JsonWriter}: small bodies go out with a
+ * fixed length, larger ones with chunked encoding. Invalid parameters are answered with
+ * {@code 400} and other failures with {@code 500}, as long as no part of the body has been sent;
+ * a failure in the middle of a chunked body drops the connection so the client cannot mistake the
+ * truncated body for a complete one.
+ *
+ * <p>For low latency, call {@link #preferNoDelay()} before the first {@link HttpServer} of the JVM is created.
+ */
+@Log
+public final class AnalyticsServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 8080;
+
+    private static final String FEATURES_PREFIX = "/features/";
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    // About ten years: wide enough for any dashboard, small enough to keep dates and rollups bounded
+    private static final int MAX_DAYS = 3_660;
+    private static final int MAX_WEEKS = 520;
+
+    /**
+     * A response body, written once the status line has been sent.
+     */
+    @FunctionalInterface
+    interface JsonBody {
+        void writeTo(JsonWriter json) throws IOException;
+    }
+
+    /**
+     * Validates a request and returns its body; throws {@link IllegalArgumentException} for a {@code 400}
+     * (any other exception is answered with a {@code 500}).
+     */
+    @FunctionalInterface
+    interface Route {
+        JsonBody handle(String path, MutableMap<String, String> query);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private AnalyticsServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Enables {@code TCP_NODELAY} for the JDK HTTP server unless {@code -Dsun.net.httpserver.nodelay}
+     * was given explicitly. Headers and body are separate writes, so without it each response can wait
+     * on a delayed ACK (~40 ms).
+     *
+     * <p>This sets a JVM-wide property that the JDK reads once, when the first {@link HttpServer} is
+     * created: call it at application startup, before any server exists, or it has no effect.
+     */
+    public static void preferNoDelay() {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    /**
+     * Starts a server on {@code port} (0 picks an ephemeral port) answering from {@code analytics}.
+     */
+    public static AnalyticsServer start(int port, Analytics analytics) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        route(server, "/products/total-value", (path, query) -> json -> json.beginObject()
+            .name("products").value(analytics.productCount())
+            .name("totalValue").value(analytics.totalInventoryValue())
+            .endObject());
+        route(server, "/products/expensive", (path, query) -> json -> writeProducts(json, analytics));
+        route(server, "/products/recent", (path, query) -> {
+            var recent = analytics.recentProducts(LocalDateTime.now(), positiveInt(query, "days", 7, MAX_DAYS));
+            return json -> writeRange(json.beginObject(), recent).endObject();
+        });
+        route(server, "/products/created-per-week", (path, query) -> {
+            LocalDateTime now = LocalDateTime.now();
+            var weeks = analytics.productCreationRollup(now.minusWeeks(positiveInt(query, "weeks", 4, MAX_WEEKS)), now, Duration.ofDays(7));
+            return json -> {
+                json.beginObject().name("weeks").beginArray();
+                for (var week : weeks) {
+                    writeRange(json.beginObject(), week).endObject();
+                }
+                json.endArray().endObject();
+            };
+        });
+        route(server, "/customers/premium-count", (path, query) -> json -> json.beginObject()
+            .name("customers").value(analytics.customerCount())
+            .name("premium").value(analytics.premiumCustomerCount())
+            .endObject());
+        route(server, "/customers/average-spending", (path, query) -> json -> json.beginObject()
+            .name("customers").value(analytics.customerCount())
+            .name("averageSpending").value(analytics.averageSpending())
+            .endObject());
+        route(server, "/customers/by-city", (path, query) -> json -> writeCities(json, analytics));
+        route(server, FEATURES_PREFIX, (path, query) -> featuresRoute(analytics, path, query));
+        route(server, "/cache/stats", (path, query) -> json -> writeCacheStats(json, analytics.cacheStats()));
+
+        server.start();
+        log.info(() -> "Analytics server listening on port " + server.getAddress().getPort());
+        return new AnalyticsServer(server, executor);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private static JsonBody featuresRoute(Analytics analytics, String path, MutableMap<String, String> query) {
+        SetOperation operation;
+        try {
+            operation = SetOperation.fromPath(path.substring(FEATURES_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown set operation in " + path, e);
+        }
+        var features = analytics.features(operation, query.get("left"), query.get("right"));
+        return json -> {
+            json.beginObject()
+                .name("operation").value(operation.toPath())
+                .name("features").beginArray();
+            for (String feature : features.toSortedList()) {
+                json.value(feature);
+            }
+            json.endArray().endObject();
+        };
+    }
+
+    private static void writeProducts(JsonWriter json, Analytics analytics) throws IOException {
+        json.beginObject().name("products").beginArray();
+        for (Product product : analytics.expensiveProducts()) {
+            json.beginObject()
+                .name("name").value(product.getName())
+                .name("category").value(product.getCategory())
+                .name("price").value(product.getPrice())
+                .name("quantity").value(product.getQuantity())
+                .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private static JsonWriter writeRange(JsonWriter json, ProductTimeIndex.RangeSummary range) throws IOException {
+        return json
+            .name("from").value(range.from().toString())
+            .name("to").value(range.to().toString())
+            .name("products").value(range.count())
+            .name("totalValue").value(range.totalValue());
+    }
+
+    private static void writeCities(JsonWriter json, Analytics analytics) throws IOException {
+        json.beginObject().name("cities").beginArray();
+        for (var city : analytics.customersByCity().keyMultiValuePairsView()) {
+            json.beginObject()
+                .name("city").value(city.getOne())
+                .name("customers").value(city.getTwo().size())
+                .name("totalSpent").value(city.getTwo().sumOfDouble(Customer::getTotalSpent))
+                .endObject();
+        }
+        json.endArray().endObject();
+    }
+
+    private static void writeCacheStats(JsonWriter json, QueryCache.Stats stats) throws IOException {
+        json.beginObject()
+            .name("hits").value(stats.hits())
+            .name("misses").value(stats.misses())
+            .name("hitRate").value(stats.hitRate())
+            .name("loads").value(stats.loads())
+            .name("evictions").value(stats.evictions())
+            .name("invalidations").value(stats.invalidations())
+            .name("size").value(stats.size())
+            .name("weightedSize").value(stats.weightedSize())
+            .name("maximumWeight").value(stats.maximumWeight())
+            .endObject();
+    }
+
+    static void route(HttpServer server, String context, Route route) {
+        boolean prefix = context.endsWith("/");
+        server.createContext(context, exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Method not allowed: " + exchange.getRequestMethod());
+            } else if (!prefix && !path.equals(context)) {
+                sendError(exchange, 404, "Not found: " + path);
+            } else {
+                respond(exchange, route, path);
+            }
+            // Not reached when respond() throws: the server then closes the connection without ending the body
+            exchange.close();
+        });
+    }
+
+    private static void respond(HttpExchange exchange, Route route, String path) throws IOException {
+        JsonBody body;
+        try {
+            body = route.handle(path, parseQuery(exchange.getRequestURI().getRawQuery()));
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, e, () -> "Failed to handle " + path);
+            sendError(exchange, 500, "Internal error");
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ResponseStream stream = new ResponseStream(exchange);
+        Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        try {
+            body.writeTo(new JsonWriter(out));
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            log.log(Level.WARNING, e, () -> "Failed to write response for " + path);
+            if (!stream.isCommitted()) {
+                sendError(exchange, 500, "Internal error");
+                return;
+            }
+            // 200 and part of a chunked body are out: abort rather than terminate the body normally
+            throw e instanceof IOException io ? io : new IOException("Response for " + path + " failed mid-stream", e);
+        }
+        out.close();
+    }
+
+    /**
+     * Buffers the body up to {@link #BUFFER_BYTES} and sends it with a fixed length; larger bodies
+     * switch to chunked streaming. Most analytics answers are small, so this saves the chunk
+     * framing and the extra writes per response.
+     */
+    private static final class ResponseStream extends OutputStream {
+
+        private static final int BUFFER_BYTES = 16 * 1024;
+
+        private final HttpExchange exchange;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        private OutputStream streaming;
+
+        ResponseStream(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        /**
+         * @return whether the status line has been sent, i.e. whether the response can still become an error
+         */
+        boolean isCommitted() {
+            return streaming != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (streaming == null && buffer.size() + length > BUFFER_BYTES) {
+                exchange.sendResponseHeaders(200, 0);
+                streaming = exchange.getResponseBody();
+                buffer.writeTo(streaming);
+            }
+            if (streaming != null) {
+                streaming.write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (streaming == null) {
+                exchange.sendResponseHeaders(200, buffer.size());
+                streaming = exchange.getResponseBody();
+                buffer.writeTo(streaming);
+            }
+            streaming.close();
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringWriter buffer = new StringWriter();
+        new JsonWriter(buffer).beginObject().name("error").value(message).endObject();
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static int positiveInt(MutableMap<String, String> query, String name, int defaultValue, int maximum) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed > 0 && parsed <= maximum) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Parameter '" + name + "' must be an integer between 1 and " + maximum + ": " + value);
+    }
+
+    private static MutableMap<String, String> parseQuery(String rawQuery) {
+        MutableMap<String, String> query = Maps.mutable.empty();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            query.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+}
@@ -0,0 +1,116 @@
+package org.buildozers.mvnjava21.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import org.eclipse.collections.api.stack.primitive.MutableBooleanStack;
+import org.eclipse.collections.impl.factory.primitive.BooleanStacks;
+
+/**
+ * 🧾 JSON Writer
+ *
+ * Minimal streaming JSON writer, so responses are written straight to the socket
+ * without building an intermediate document and without a JSON library dependency.
+ */
+final class JsonWriter {
+
+    private final Writer out;
+    // One entry per open object/array: true once it already holds an element
+    private final MutableBooleanStack scopes = BooleanStacks.mutable.empty();
+    private boolean afterName;
+
+    JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        this.beforeValue();
+        out.write('{');
+        scopes.push(false);
+        return this;
+    }
+
+    JsonWriter endObject() throws IOException {
+        scopes.pop();
+        out.write('}');
+        return this;
+    }
+
+    JsonWriter beginArray() throws IOException {
+        this.beforeValue();
+        out.write('[');
+        scopes.push(false);
+        return this;
+    }
+
+    JsonWriter endArray() throws IOException {
+        scopes.pop();
+        out.write(']');
+        return this;
+    }
+
+    JsonWriter name(String name) throws IOException {
+        this.beforeValue();
+        this.quote(name);
+        out.write(':');
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        this.beforeValue();
+        if (value == null) {
+            out.write("null");
+        } else {
+            this.quote(value);
+        }
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        this.beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    JsonWriter value(double value) throws IOException {
+        this.beforeValue();
+        out.write(Double.isFinite(value) ? Double.toString(value) : "null");
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (scopes.notEmpty()) {
+            if (scopes.pop()) {
+                out.write(',');
+            }
+            scopes.push(true);
+        }
+    }
+
+    private void quote(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
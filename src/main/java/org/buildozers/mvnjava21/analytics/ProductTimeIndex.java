@@ -0,0 +1,231 @@
+package org.buildozers.mvnjava21.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import org.buildozers.mvnjava21.examples.Product;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableDoubleList;
+import org.eclipse.collections.api.list.primitive.MutableLongList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.DoubleLists;
+import org.eclipse.collections.impl.factory.primitive.LongLists;
+
+/**
+ * 🕒 Product Time Index
+ *
+ * Index of {@link Product#getCreatedAt()} for recency and range queries without scanning
+ * products or comparing {@link LocalDateTime} objects.
+ *
+ * <p>Creation times are stored as epoch-millis primitives in day buckets, sorted by day.
+ * Each bucket keeps its timestamps sorted together with running sums of
+ * {@link Product#getTotalValue()}, so its count and value are known without iteration.
+ * A range query binary-searches the two boundary buckets and adds up the whole buckets
+ * in between. Products arriving in time order are appended in O(1); late arrivals are
+ * inserted into their day bucket, which only shifts that bucket.
+ *
+ * <p>{@code createdAt} carries no zone, so it is read as UTC: day buckets match its calendar date.
+ * Products without {@code createdAt} are not indexed.
+ */
+public final class ProductTimeIndex {
+
+    /**
+     * Upper bound on the windows of one {@link #rollup}, which are all held in memory.
+     */
+    public static final int MAX_ROLLUP_WINDOWS = 10_000;
+
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    /**
+     * Count and inventory value of the products created in {@code [from, to)}.
+     */
+    public record RangeSummary(LocalDateTime from, LocalDateTime to, long count, double totalValue) {
+    }
+
+    /**
+     * Products created on one day: sorted timestamps and the running value total after each one.
+     */
+    private static final class DayBucket {
+        private final long day;
+        private final MutableLongList timestamps = LongLists.mutable.empty();
+        private final MutableDoubleList cumulativeValues = DoubleLists.mutable.empty();
+
+        DayBucket(long day) {
+            this.day = day;
+        }
+
+        int count() {
+            return timestamps.size();
+        }
+
+        double totalValue() {
+            return this.valueBefore(timestamps.size());
+        }
+
+        /** Sum of the values of the first {@code index} products. */
+        double valueBefore(int index) {
+            return index == 0 ? 0.0 : cumulativeValues.get(index - 1);
+        }
+
+        void add(long millis, double value) {
+            int size = timestamps.size();
+            if (size == 0 || timestamps.get(size - 1) <= millis) {
+                cumulativeValues.add(this.totalValue() + value);
+                timestamps.add(millis);
+                return;
+            }
+            int index = upperBound(timestamps, millis);
+            timestamps.addAtIndex(index, millis);
+            cumulativeValues.addAtIndex(index, this.valueBefore(index) + value);
+            for (int i = index + 1; i < cumulativeValues.size(); i++) {
+                cumulativeValues.set(i, cumulativeValues.get(i) + value);
+            }
+        }
+    }
+
+    private final MutableLongList days = LongLists.mutable.empty();
+    private final MutableList<DayBucket> buckets = Lists.mutable.empty();
+    private long size;
+
+    /**
+     * Builds an index over {@code products}, sorting them first so that every insert is an append.
+     */
+    public static ProductTimeIndex of(Iterable<Product> products) {
+        ProductTimeIndex index = new ProductTimeIndex();
+        Lists.mutable.withAll(products)
+            .reject(product -> product.getCreatedAt() == null)
+            .sortThisBy(Product::getCreatedAt)
+            .forEach(index::add);
+        return index;
+    }
+
+    public synchronized void add(Product product) {
+        if (product.getCreatedAt() == null) {
+            return;
+        }
+        long millis = toMillis(product.getCreatedAt());
+        this.bucketFor(Math.floorDiv(millis, DAY_MILLIS)).add(millis, product.getTotalValue());
+        size++;
+    }
+
+    /**
+     * @return the number of indexed products
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Summarizes the products created in {@code [from, to)}.
+     */
+    public synchronized RangeSummary summary(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toMillis(from);
+        long toMillis = toMillis(to);
+        long count = 0;
+        double totalValue = 0.0;
+        if (fromMillis < toMillis) {
+            int first = lowerBound(days, Math.floorDiv(fromMillis, DAY_MILLIS));
+            int end = lowerBound(days, Math.floorDiv(toMillis - 1, DAY_MILLIS) + 1);
+            for (int b = first; b < end; b++) {
+                DayBucket bucket = buckets.get(b);
+                long bucketStart = bucket.day * DAY_MILLIS;
+                if (bucketStart >= fromMillis && bucketStart + DAY_MILLIS <= toMillis) {
+                    count += bucket.count();
+                    totalValue += bucket.totalValue();
+                } else {
+                    int lo = lowerBound(bucket.timestamps, fromMillis);
+                    int hi = lowerBound(bucket.timestamps, toMillis);
+                    count += hi - lo;
+                    totalValue += bucket.valueBefore(hi) - bucket.valueBefore(lo);
+                }
+            }
+        }
+        return new RangeSummary(from, to, count, totalValue);
+    }
+
+    /**
+     * Summarizes the products created in the {@code days} days up to {@code now}.
+     */
+    public RangeSummary recent(LocalDateTime now, int days) {
+        return this.summary(now.minusDays(days), now);
+    }
+
+    /**
+     * Splits {@code [from, to)} into consecutive windows of {@code step} (the last one may be
+     * shorter) and summarizes each, e.g. inventory value created per week.
+     *
+     * @throws IllegalArgumentException if {@code step} is not positive or the range needs more
+     *                                  than {@link #MAX_ROLLUP_WINDOWS} windows
+     */
+    public ImmutableList<RangeSummary> rollup(LocalDateTime from, LocalDateTime to, Duration step) {
+        if (step.isZero() || step.isNegative()) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        if (from.isBefore(to)) {
+            Duration range = Duration.between(from, to);
+            long whole = range.dividedBy(step);
+            long windows = step.multipliedBy(whole).equals(range) ? whole : whole + 1;
+            if (windows > MAX_ROLLUP_WINDOWS) {
+                throw new IllegalArgumentException(
+                    "Rollup of " + range + " by " + step + " needs " + windows + " windows, more than " + MAX_ROLLUP_WINDOWS);
+            }
+        }
+        MutableList<RangeSummary> windows = Lists.mutable.empty();
+        for (LocalDateTime start = from; start.isBefore(to); start = start.plus(step)) {
+            LocalDateTime end = start.plus(step);
+            windows.add(this.summary(start, end.isBefore(to) ? end : to));
+        }
+        return windows.toImmutable();
+    }
+
+    private DayBucket bucketFor(long day) {
+        int last = days.size() - 1;
+        if (last >= 0 && days.get(last) == day) {
+            return buckets.get(last);
+        }
+        int index = last >= 0 && days.get(last) < day ? last + 1 : lowerBound(days, day);
+        if (index < days.size() && days.get(index) == day) {
+            return buckets.get(index);
+        }
+        DayBucket bucket = new DayBucket(day);
+        days.addAtIndex(index, day);
+        buckets.add(index, bucket);
+        return bucket;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /** Index of the first element {@code >= key} in a sorted list. */
+    private static int lowerBound(MutableLongList sorted, long key) {
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted.get(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** Index of the first element {@code > key} in a sorted list. */
+    private static int upperBound(MutableLongList sorted, long key) {
+        int lo = 0;
+        int hi = sorted.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted.get(mid) <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,166 @@
+package org.buildozers.mvnjava21.analytics;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * 🗃️ Query Cache
+ *
+ * Weight-bounded LRU cache for analytics query results.
+ *
+ * <ul>
+ *   <li><b>Cost weights</b>: each result is weighed when stored (e.g. by element count) and the
+ *       least recently used entries are evicted until the total weight fits the bound.</li>
+ *   <li><b>Version stamps</b>: each entry remembers the version of the data it was computed from;
+ *       a lookup with a newer version treats it as stale and drops it.</li>
+ *   <li><b>Single flight</b>: concurrent misses for the same key and version share one computation.</li>
+ * </ul>
+ */
+public final class QueryCache {
+
+    /**
+     * Point-in-time cache statistics.
+     */
+    public record Stats(long hits, long misses, long loads, long evictions, long invalidations,
+                        int size, long weightedSize, long maximumWeight) {
+
+        public double hitRate() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private record Entry(Object value, long version, long weight) {
+    }
+
+    private record FlightKey(Object key, long version) {
+    }
+
+    private final long maximumWeight;
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private long weightedSize;
+    private long hits;
+    private long misses;
+    private long loads;
+    private long evictions;
+    private long invalidations;
+
+    public QueryCache(long maximumWeight) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+        }
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cached result for {@code key} computed at {@code version}, loading it on a miss.
+     *
+     * @param key     query identity, compared with {@code equals}
+     * @param version version of the data the query reads; older entries are invalidated
+     * @param weigher cost of a result, at least 1
+     * @param loader  computes the result; called at most once per key and version at a time
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(Object key, long version, ToLongFunction<? super V> weigher, Supplier<? extends V> loader) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version) {
+                hits++;
+                return (V) entry.value();
+            }
+            if (entry != null && entry.version() < version) {
+                this.discard(key, entry);
+                invalidations++;
+            }
+            misses++;
+        }
+
+        FlightKey flightKey = new FlightKey(key, version);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            return (V) join(leader);
+        }
+
+        try {
+            V value = this.peek(key, version);
+            if (value != null) {
+                // The previous flight finished between our miss and registering this one
+                flight.complete(value);
+                return value;
+            }
+            value = loader.get();
+            this.store(key, version, value, Math.max(1L, weigher.applyAsLong(value)));
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits, misses, loads, evictions, invalidations, entries.size(), weightedSize, maximumWeight);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized <V> V peek(Object key, long version) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.version() == version ? (V) entry.value() : null;
+    }
+
+    private synchronized void store(Object key, long version, Object value, long weight) {
+        loads++;
+        Entry current = entries.get(key);
+        if (current != null) {
+            if (current.version() > version) {
+                // A newer result was stored while this one was computed
+                return;
+            }
+            this.discard(key, current);
+        }
+        if (weight > maximumWeight) {
+            return;
+        }
+        entries.put(key, new Entry(value, version, weight));
+        weightedSize += weight;
+
+        Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+        while (weightedSize > maximumWeight && eldest.hasNext()) {
+            Map.Entry<Object, Entry> victim = eldest.next();
+            eldest.remove();
+            weightedSize -= victim.getValue().weight();
+            evictions++;
+        }
+    }
+
+    private void discard(Object key, Entry entry) {
+        entries.remove(key);
+        weightedSize -= entry.weight();
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
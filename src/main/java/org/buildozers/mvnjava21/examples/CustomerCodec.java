@@ -0,0 +1,107 @@
+package org.buildozers.mvnjava21.examples;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 🧬 Customer Codec
+ *
+ * Compact binary encoding of {@link Customer}, shared by the persistence journal and snapshot
+ * and by the shard protocol. Strings are written as an unsigned short length followed by UTF-8
+ * bytes, with {@code 0xFFFF} reserved for {@code null}, so a string may take at most 65534 bytes.
+ * Records can be read back from a {@link ByteBuffer} (memory-mapped files) or a {@link DataInput} (streams).
+ */
+public final class CustomerCodec {
+
+    private static final int NULL_LENGTH = 0xFFFF;
+    private static final int MAX_STRING_BYTES = NULL_LENGTH - 1;
+
+    private CustomerCodec() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * @throws IllegalArgumentException if a field is too long to encode; nothing has been written then
+     */
+    public static void writeCustomer(DataOutput out, Customer customer) throws IOException {
+        byte[] name = encodeString(customer.getName());
+        byte[] email = encodeString(customer.getEmail());
+        byte[] city = encodeString(customer.getCity());
+        writeEncoded(out, name);
+        writeEncoded(out, email);
+        writeEncoded(out, city);
+        out.writeInt(customer.getAge());
+        out.writeDouble(customer.getTotalSpent());
+    }
+
+    public static Customer readCustomer(ByteBuffer in) {
+        return Customer.builder()
+            .name(readString(in))
+            .email(readString(in))
+            .city(readString(in))
+            .age(in.getInt())
+            .totalSpent(in.getDouble())
+            .build();
+    }
+
+    public static Customer readCustomer(DataInput in) throws IOException {
+        return Customer.builder()
+            .name(readString(in))
+            .email(readString(in))
+            .city(readString(in))
+            .age(in.readInt())
+            .totalSpent(in.readDouble())
+            .build();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code value} takes more than 65534 UTF-8 bytes; nothing has been written then
+     */
+    public static void writeString(DataOutput out, String value) throws IOException {
+        writeEncoded(out, encodeString(value));
+    }
+
+    public static String readString(ByteBuffer in) {
+        int length = Short.toUnsignedInt(in.getShort());
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** UTF-8 bytes of {@code value}, or {@code null} for a null string. */
+    private static byte[] encodeString(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String too long to encode: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+
+    private static void writeEncoded(DataOutput out, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            out.writeShort(NULL_LENGTH);
+            return;
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -15,16 +15,19 @@ import static org.fusesource.jansi.Ansi.Color.MAGENTA;
 import static org.fusesource.jansi.Ansi.Color.RED;
 import static org.fusesource.jansi.Ansi.Color.YELLOW;
 
-import java.time.LocalDateTime;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.buildozers.mvnjava21.examples.persistence.CustomerStore;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.api.set.MutableSet;
 import org.eclipse.collections.impl.factory.Lists;
-import org.eclipse.collections.impl.factory.Maps;
-import org.eclipse.collections.impl.factory.Sets;
 import org.fusesource.jansi.AnsiConsole;
 
 import lombok.extern.java.Log;
@@ -48,6 +51,7 @@ public class EclipseCollectionsShowcase {
             showcase.printHeader();
             showcase.demonstrateLists();
             showcase.demonstrateMaps();
+            showcase.demonstratePersistence();
             showcase.demonstrateSets();
             showcase.demonstrateAdvancedOperations();
         } finally {
@@ -66,37 +70,7 @@ public class EclipseCollectionsShowcase {
     private void demonstrateLists() {
         this.printSectionHeader("📋 Eclipse Collections Lists");
 
-        // Create a MutableList of products
-        MutableList<Product> products = Lists.mutable.of(
-            Product.builder()
-                .name("MacBook Pro")
-                .category("Electronics")
-                .price(2499.99)
-                .quantity(5)
-                .createdAt(LocalDateTime.now().minusDays(10))
-                .build(),
-            Product.builder()
-                .name("iPhone 15")
-                .category("Electronics")
-                .price(999.99)
-                .quantity(15)
-                .createdAt(LocalDateTime.now().minusDays(5))
-                .build(),
-            Product.builder()
-                .name("Coffee Mug")
-                .category("Kitchen")
-                .price(19.99)
-                .quantity(50)
-                .createdAt(LocalDateTime.now().minusDays(2))
-                .build(),
-            Product.builder()
-                .name("Wireless Mouse")
-                .category("Electronics")
-                .price(79.99)
-                .quantity(8)
-                .createdAt(LocalDateTime.now().minusDays(1))
-                .build()
-        );
+        MutableList<Product> products = SampleData.products();
 
         whiteLabelBold("📦 Total products: ", String.valueOf(products.size()), CYAN);
 
@@ -121,32 +95,7 @@ public class EclipseCollectionsShowcase {
     private void demonstrateMaps() {
         this.printSectionHeader("🗺️  Eclipse Collections Maps");
 
-        // Create a MutableMap of customers
-        MutableMap<String, Customer> customers = Maps.mutable.empty();
-        
-        customers.put("C001", Customer.builder()
-            .name("Alice Johnson")
-            .email("alice@example.com")
-            .city("New York")
-            .age(28)
-            .totalSpent(1250.75)
-            .build());
-            
-        customers.put("C002", Customer.builder()
-            .name("Bob Smith")
-            .email("bob@example.com")
-            .city("San Francisco")
-            .age(35)
-            .totalSpent(750.50)
-            .build());
-            
-        customers.put("C003", Customer.builder()
-            .name("Carol Williams")
-            .email("carol@example.com")
-            .city("Chicago")
-            .age(42)
-            .totalSpent(2100.25)
-            .build());
+        MutableMap<String, Customer> customers = SampleData.customers();
 
         whiteLabelBold("👥 Total customers: ", String.valueOf(customers.size()), CYAN);
 
@@ -168,21 +117,58 @@ public class EclipseCollectionsShowcase {
         blank();
     }
 
-    private void demonstrateSets() {
-        this.printSectionHeader("🎯 Eclipse Collections Sets");
+    private void demonstratePersistence() {
+        this.printSectionHeader("💾 Journaled Customer Store");
 
-        // Create sets for different categories
-        MutableSet<String> electronicsFeatures = Sets.mutable.of(
-            "Bluetooth", "WiFi", "USB-C", "Retina Display", "Touch ID", "Wireless Charging"
-        );
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("customer-store");
+
+            // Mutations are journaled in the background, then compacted into a snapshot
+            try (CustomerStore store = CustomerStore.open(directory)) {
+                SampleData.customers().forEachKeyValue(store::put);
+                store.snapshot();
+                store.remove("C002");
+                store.sync().join();
+            }
+
+            // Recovery maps the snapshot and replays only the journal tail
+            long start = System.nanoTime();
+            try (CustomerStore recovered = CustomerStore.open(directory)) {
+                double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+                whiteLabelBold("♻️  Recovered customers: ", String.valueOf(recovered.size()), CYAN);
+                whiteLabel("⏱️  Recovery time: ", String.format("%.2f ms", elapsedMillis), GREEN);
+            }
+        } catch (IOException e) {
+            log.warning(() -> "Customer store demonstration failed: " + e.getMessage());
+        } finally {
+            deleteDirectory(directory);
+        }
 
-        MutableSet<String> premiumFeatures = Sets.mutable.of(
-            "Premium Design", "Retina Display", "Touch ID", "Face ID", "Wireless Charging", "Fast Charging"
-        );
+        blank();
+    }
+
+    /**
+     * Removes the demo store (snapshot and journal segments) so that runs leave nothing behind.
+     */
+    private static void deleteDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            // Deepest paths first, so the directory is empty when its turn comes
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.fine(() -> "Could not delete " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private void demonstrateSets() {
+        this.printSectionHeader("🎯 Eclipse Collections Sets");
 
-        MutableSet<String> mobileFeatures = Sets.mutable.of(
-            "5G", "Face ID", "Wireless Charging", "Camera", "GPS", "Bluetooth"
-        );
+        MutableSet<String> electronicsFeatures = SampleData.electronicsFeatures();
+        MutableSet<String> premiumFeatures = SampleData.premiumFeatures();
+        MutableSet<String> mobileFeatures = SampleData.mobileFeatures();
 
         whiteLabel("📱 Electronics features: ", electronicsFeatures.makeString(", "), CYAN);
         whiteLabel("⭐ Premium features: ", premiumFeatures.makeString(", "), YELLOW);
@@ -0,0 +1,104 @@
+package org.buildozers.mvnjava21.examples;
+
+import java.time.LocalDateTime;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.set.MutableSet;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.Sets;
+
+/**
+ * 🧪 Sample Data
+ *
+ * Shared in-memory products, customers and feature sets used by the showcase
+ * and the analytics server. Every call returns fresh mutable collections.
+ */
+public final class SampleData {
+
+    private SampleData() {
+        // Utility class - prevent instantiation
+    }
+
+    public static MutableList<Product> products() {
+        return Lists.mutable.of(
+            Product.builder()
+                .name("MacBook Pro")
+                .category("Electronics")
+                .price(2499.99)
+                .quantity(5)
+                .createdAt(LocalDateTime.now().minusDays(10))
+                .build(),
+            Product.builder()
+                .name("iPhone 15")
+                .category("Electronics")
+                .price(999.99)
+                .quantity(15)
+                .createdAt(LocalDateTime.now().minusDays(5))
+                .build(),
+            Product.builder()
+                .name("Coffee Mug")
+                .category("Kitchen")
+                .price(19.99)
+                .quantity(50)
+                .createdAt(LocalDateTime.now().minusDays(2))
+                .build(),
+            Product.builder()
+                .name("Wireless Mouse")
+                .category("Electronics")
+                .price(79.99)
+                .quantity(8)
+                .createdAt(LocalDateTime.now().minusDays(1))
+                .build()
+        );
+    }
+
+    public static MutableMap<String, Customer> customers() {
+        MutableMap<String, Customer> customers = Maps.mutable.empty();
+
+        customers.put("C001", Customer.builder()
+            .name("Alice Johnson")
+            .email("alice@example.com")
+            .city("New York")
+            .age(28)
+            .totalSpent(1250.75)
+            .build());
+
+        customers.put("C002", Customer.builder()
+            .name("Bob Smith")
+            .email("bob@example.com")
+            .city("San Francisco")
+            .age(35)
+            .totalSpent(750.50)
+            .build());
+
+        customers.put("C003", Customer.builder()
+            .name("Carol Williams")
+            .email("carol@example.com")
+            .city("Chicago")
+            .age(42)
+            .totalSpent(2100.25)
+            .build());
+
+        return customers;
+    }
+
+    public static MutableSet<String> electronicsFeatures() {
+        return Sets.mutable.of(
+            "Bluetooth", "WiFi", "USB-C", "Retina Display", "Touch ID", "Wireless Charging"
+        );
+    }
+
+    public static MutableSet<String> premiumFeatures() {
+        return Sets.mutable.of(
+            "Premium Design", "Retina Display", "Touch ID", "Face ID", "Wireless Charging", "Fast Charging"
+        );
+    }
+
+    public static MutableSet<String> mobileFeatures() {
+        return Sets.mutable.of(
+            "5G", "Face ID", "Wireless Charging", "Camera", "GPS", "Bluetooth"
+        );
+    }
+}
@@ -0,0 +1,358 @@
+package org.buildozers.mvnjava21.examples.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.CustomerCodec;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Lists;
+
+import lombok.extern.java.Log;
+
+/**
+ * 📝 Customer Journal
+ *
+ * Append-only write-ahead log of customer put/remove operations.
+ *
+ * <p>Callers encode their record and enqueue it; a single writer thread drains the queue in
+ * batches, writes each batch with one channel write and makes it durable with one {@code force}
+ * (group commit). The mutation path therefore never waits on disk I/O, and a record that cannot
+ * be encoded is rejected to its caller instead of stopping the writer.
+ *
+ * <p>The journal is split into segments named after the first sequence number they may
+ * contain. Every record is framed as {@code [int length][int crc32c][payload]} so that a
+ * torn tail left by a crash is detected and ignored on replay.
+ */
+@Log
+final class CustomerJournal implements AutoCloseable {
+
+    static final long SEGMENT_BYTES = 256L * 1024 * 1024;
+
+    private static final int MAX_BATCH = 4096;
+    private static final int FRAME_HEADER_BYTES = 8;
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private sealed interface Entry permits Append, Barrier, Roll, Close {
+    }
+
+    /** A fully framed record, ready to be copied into the segment. */
+    private record Append(long sequence, byte[] frame) implements Entry {
+    }
+
+    private record Barrier(CompletableFuture<Void> done) implements Entry {
+    }
+
+    private record Roll(long nextSequence, CompletableFuture<Void> done) implements Entry {
+    }
+
+    private record Close() implements Entry {
+    }
+
+    private final Path directory;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+
+    private FileChannel segment;
+    private long segmentFirstSequence;
+    private long lastWrittenSequence;
+
+    private CustomerJournal(Path directory, long nextSequence) throws IOException {
+        this.directory = directory;
+        this.lastWrittenSequence = nextSequence - 1;
+        openSegment(nextSequence);
+        this.writer = new Thread(this::writeLoop, "customer-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens a journal whose next record will carry {@code nextSequence}.
+     * A fresh segment is always started, so a torn tail from a previous run is never appended to.
+     */
+    static CustomerJournal open(Path directory, long nextSequence) throws IOException {
+        return new CustomerJournal(directory, nextSequence);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the customer cannot be encoded; nothing is journaled then
+     */
+    void appendPut(long sequence, String id, Customer customer) {
+        enqueue(new Append(sequence, encode(sequence, OP_PUT, id, customer)));
+    }
+
+    void appendRemove(long sequence, String id) {
+        enqueue(new Append(sequence, encode(sequence, OP_REMOVE, id, null)));
+    }
+
+    /**
+     * @return a future completed once every entry appended before this call is durable on disk
+     */
+    CompletableFuture<Void> sync() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(new Barrier(done));
+        return done;
+    }
+
+    /**
+     * Closes the current segment and starts a new one at {@code nextSequence}.
+     *
+     * @return a future completed once the new segment is open and the previous one is durable
+     */
+    CompletableFuture<Void> roll(long nextSequence) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        enqueue(new Roll(nextSequence, done));
+        return done;
+    }
+
+    /**
+     * Deletes the segments that can only hold records below {@code sequence},
+     * typically after a snapshot covering them has been written.
+     */
+    void deleteSegmentsBefore(long sequence) throws IOException {
+        MutableList<Path> segments = listSegments(directory);
+        for (int i = 0; i < segments.size() - 1; i++) {
+            // A segment ends where its successor starts
+            if (firstSequenceOf(segments.get(i + 1)) <= sequence) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (writer.isAlive()) {
+            queue.add(new Close());
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (segment.isOpen()) {
+            segment.close();
+        }
+        if (failure != null) {
+            throw new IOException("Customer journal writer failed", failure);
+        }
+    }
+
+    /**
+     * Replays every journal record with a sequence greater than {@code afterSequence} into {@code customers}.
+     *
+     * @return the highest sequence number found, or {@code afterSequence} if nothing newer was replayed
+     */
+    static long replay(Path directory, long afterSequence, MutableMap<String, Customer> customers) throws IOException {
+        return replay(directory, afterSequence, Long.MAX_VALUE, customers);
+    }
+
+    /**
+     * Replays the journal records with a sequence in {@code (afterSequence, upToSequence]} into {@code customers}.
+     * Segments starting after {@code upToSequence} are not read, so this is safe while the writer appends to them.
+     *
+     * @return the highest sequence number replayed, or {@code afterSequence} if nothing newer was replayed
+     */
+    static long replay(Path directory, long afterSequence, long upToSequence, MutableMap<String, Customer> customers) throws IOException {
+        long lastSequence = afterSequence;
+        for (Path path : listSegments(directory)) {
+            if (firstSequenceOf(path) > upToSequence) {
+                break;
+            }
+            lastSequence = Math.max(lastSequence, replaySegment(path, afterSequence, upToSequence, customers));
+        }
+        return lastSequence;
+    }
+
+    private static long replaySegment(Path path, long afterSequence, long upToSequence,
+                                      MutableMap<String, Customer> customers) throws IOException {
+        long lastSequence = afterSequence;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    log.warning(() -> "Ignoring torn tail of journal segment " + path);
+                    break;
+                }
+                ByteBuffer payload = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warning(() -> "Ignoring corrupt tail of journal segment " + path);
+                    break;
+                }
+                long sequence = payload.getLong();
+                byte op = payload.get();
+                String id = CustomerCodec.readString(payload);
+                if (sequence <= afterSequence) {
+                    continue;
+                }
+                if (sequence > upToSequence) {
+                    break;
+                }
+                if (op == OP_PUT) {
+                    customers.put(id, CustomerCodec.readCustomer(payload));
+                } else if (op == OP_REMOVE) {
+                    customers.remove(id);
+                } else {
+                    throw new IOException("Unknown journal operation " + op + " in " + path);
+                }
+                lastSequence = sequence;
+            }
+        }
+        return lastSequence;
+    }
+
+    private static MutableList<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            MutableList<Path> segments = files
+                .filter(path -> {
+                    String name = path.getFileName().toString();
+                    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                })
+                .collect(Lists.mutable::empty, MutableList::add, MutableList::addAll);
+            return segments.sortThisByLong(CustomerJournal::firstSequenceOf);
+        }
+    }
+
+    private static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private void enqueue(Entry entry) {
+        if (failure != null) {
+            throw new IllegalStateException("Customer journal writer failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Customer journal is closed");
+        }
+        queue.add(entry);
+    }
+
+    private static byte[] encode(long sequence, byte op, String id, Customer customer) {
+        RecordBuffer record = new RecordBuffer(128);
+        try {
+            DataOutputStream out = new DataOutputStream(record);
+            out.writeLong(sequence);
+            out.writeByte(op);
+            CustomerCodec.writeString(out, id);
+            if (customer != null) {
+                CustomerCodec.writeCustomer(out, customer);
+            }
+            RecordBuffer frame = new RecordBuffer(FRAME_HEADER_BYTES + record.size());
+            writeFrame(new DataOutputStream(frame), record);
+            return frame.array();
+        } catch (IOException e) {
+            // In-memory streams only fail on encoding limits, which CustomerCodec reports as IllegalArgumentException
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        segment = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segmentFirstSequence = firstSequence;
+    }
+
+    private void rollSegment(long nextSequence) throws IOException {
+        segment.force(false);
+        segment.close();
+        openSegment(nextSequence);
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        List<CompletableFuture<Void>> completed = new ArrayList<>();
+        RecordBuffer batchBytes = new RecordBuffer(64 * 1024);
+        boolean closing = false;
+        try {
+            while (!closing) {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (Entry entry : batch) {
+                    if (entry instanceof Append append) {
+                        batchBytes.writeBytes(append.frame());
+                        lastWrittenSequence = append.sequence();
+                    } else if (entry instanceof Barrier barrier) {
+                        completed.add(barrier.done());
+                    } else if (entry instanceof Roll roll) {
+                        flush(batchBytes);
+                        rollSegment(roll.nextSequence());
+                        completed.add(roll.done());
+                    } else if (entry instanceof Close) {
+                        closing = true;
+                    }
+                }
+                flush(batchBytes);
+                if (segment.size() >= SEGMENT_BYTES && segmentFirstSequence <= lastWrittenSequence) {
+                    rollSegment(lastWrittenSequence + 1);
+                }
+                completed.forEach(done -> done.complete(null));
+                completed.clear();
+                batch.clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(e, batch, completed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e, batch, completed);
+        }
+    }
+
+    private static void writeFrame(DataOutputStream out, RecordBuffer record) throws IOException {
+        out.writeInt(record.size());
+        out.writeInt(record.checksum());
+        out.write(record.array(), 0, record.size());
+    }
+
+    private void flush(RecordBuffer batchBytes) throws IOException {
+        if (batchBytes.size() > 0) {
+            batchBytes.writeTo(Channels.newOutputStream(segment));
+            batchBytes.reset();
+        }
+        segment.force(false);
+    }
+
+    private void fail(Throwable cause, List<Entry> batch, List<CompletableFuture<Void>> completed) {
+        failure = cause;
+        log.severe(() -> "Customer journal writer stopped: " + cause);
+        List<Entry> pending = new ArrayList<>(batch);
+        queue.drainTo(pending);
+        for (Entry entry : pending) {
+            if (entry instanceof Barrier barrier) {
+                completed.add(barrier.done());
+            } else if (entry instanceof Roll roll) {
+                completed.add(roll.done());
+            }
+        }
+        Throwable error = cause instanceof IOException io ? new UncheckedIOException(io) : cause;
+        completed.forEach(done -> done.completeExceptionally(error));
+    }
+}
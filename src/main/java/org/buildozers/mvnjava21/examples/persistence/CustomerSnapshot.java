@@ -0,0 +1,173 @@
+package org.buildozers.mvnjava21.examples.persistence;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.CustomerCodec;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.tuple.Pair;
+import org.eclipse.collections.impl.factory.Maps;
+
+/**
+ * 📸 Customer Snapshot
+ *
+ * Compact point-in-time image of the customer map, tagged with the journal sequence it covers.
+ *
+ * <p>Layout: a fixed header ({@code magic, version, sequence, blockCount, customerCount})
+ * followed by checksummed blocks of encoded {@code id -> customer} records. Blocks are kept
+ * small enough to be memory-mapped one at a time, so snapshots are not bound by the 2 GB
+ * limit of a single mapping. Snapshots are written to a temporary file, atomically renamed
+ * and the rename is made durable, so readers only ever see a complete image and the journal
+ * it replaces can be deleted safely afterwards.
+ */
+record CustomerSnapshot(long sequence, MutableMap<String, Customer> customers) {
+
+    private static final int MAGIC = 0x43534E50; // "CSNP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final int BLOCK_HEADER_BYTES = 12;
+    private static final int BLOCK_BYTES = 4 * 1024 * 1024;
+
+    static CustomerSnapshot empty() {
+        return new CustomerSnapshot(0L, Maps.mutable.empty());
+    }
+
+    static void write(Path target, long sequence, MapIterable<String, Customer> customers) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_BYTES);
+            RecordBuffer block = new RecordBuffer(BLOCK_BYTES + 1024);
+            DataOutputStream out = new DataOutputStream(block);
+            int blockCount = 0;
+            int blockRecords = 0;
+            for (Pair<String, Customer> entry : customers.keyValuesView()) {
+                CustomerCodec.writeString(out, entry.getOne());
+                CustomerCodec.writeCustomer(out, entry.getTwo());
+                blockRecords++;
+                if (block.size() >= BLOCK_BYTES) {
+                    writeBlock(channel, block, blockRecords);
+                    blockCount++;
+                    blockRecords = 0;
+                }
+            }
+            if (blockRecords > 0) {
+                writeBlock(channel, block, blockRecords);
+                blockCount++;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putLong(sequence)
+                .putInt(blockCount)
+                .putLong(customers.size())
+                .flip();
+            writeFully(channel, header, 0L);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Loads a snapshot by memory-mapping its blocks, pre-sizing the map from the header
+     * so recovery does not pay for rehashing.
+     */
+    static CustomerSnapshot load(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, 0L, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a customer snapshot: " + source);
+            }
+            long sequence = header.getLong();
+            int blockCount = header.getInt();
+            long customerCount = header.getLong();
+
+            MutableMap<String, Customer> customers = Maps.mutable.ofInitialCapacity(Math.toIntExact(customerCount));
+            long position = HEADER_BYTES;
+            CRC32C crc = new CRC32C();
+            for (int b = 0; b < blockCount; b++) {
+                ByteBuffer blockHeader = readFully(channel, position, BLOCK_HEADER_BYTES);
+                int length = blockHeader.getInt();
+                int records = blockHeader.getInt();
+                int checksum = blockHeader.getInt();
+                position += BLOCK_HEADER_BYTES;
+
+                MappedByteBuffer block = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                crc.reset();
+                crc.update(block.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    throw new IOException("Corrupt block " + b + " in customer snapshot " + source);
+                }
+                for (int r = 0; r < records; r++) {
+                    customers.put(CustomerCodec.readString(block), CustomerCodec.readCustomer(block));
+                }
+                position += length;
+            }
+            return new CustomerSnapshot(sequence, customers);
+        }
+    }
+
+    /**
+     * Makes renames and deletions in {@code directory} durable. Some platforms (e.g. Windows)
+     * cannot open a directory as a channel; their file systems persist the rename with the move.
+     */
+    private static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException | UnsupportedOperationException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static void writeBlock(FileChannel channel, RecordBuffer block, int records) throws IOException {
+        ByteBuffer blockHeader = ByteBuffer.allocate(BLOCK_HEADER_BYTES)
+            .putInt(block.size())
+            .putInt(records)
+            .putInt(block.checksum())
+            .flip();
+        while (blockHeader.hasRemaining()) {
+            channel.write(blockHeader);
+        }
+        ByteBuffer body = ByteBuffer.wrap(block.array(), 0, block.size());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+        block.reset();
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("Truncated customer snapshot");
+            }
+            offset += read;
+        }
+        return buffer.flip();
+    }
+}
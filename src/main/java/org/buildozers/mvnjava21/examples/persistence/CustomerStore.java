@@ -0,0 +1,138 @@
+package org.buildozers.mvnjava21.examples.persistence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.eclipse.collections.api.map.MutableMap;
+
+import lombok.extern.java.Log;
+
+/**
+ * 💾 Customer Store
+ *
+ * Durable {@code id -> Customer} map backed by a write-ahead {@link CustomerJournal}
+ * and periodic {@link CustomerSnapshot}s.
+ *
+ * <p>Mutations encode a journal record, enqueue it and then update the in-memory map; they
+ * never wait for the disk. Call {@link #sync()} when an operation must be durable before proceeding.
+ * {@link #open(Path)} recovers the map by memory-mapping the latest snapshot and replaying
+ * only the journal records written after it.
+ *
+ * <p>Mutations are serialized by the store. Like the plain {@link MutableMap} it wraps,
+ * the {@link #customers()} view must not be read concurrently with writers.
+ */
+@Log
+public final class CustomerStore implements AutoCloseable {
+
+    private static final String SNAPSHOT_FILE = "customers.snapshot";
+
+    private final Path directory;
+    private final MutableMap<String, Customer> customers;
+    private final CustomerJournal journal;
+    private final Object snapshotLock = new Object();
+    private long sequence;
+
+    private CustomerStore(Path directory, MutableMap<String, Customer> customers, CustomerJournal journal, long sequence) {
+        this.directory = directory;
+        this.customers = customers;
+        this.journal = journal;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Opens (or creates) a store in {@code directory}, recovering any previously persisted customers.
+     */
+    public static CustomerStore open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        CustomerSnapshot snapshot = Files.exists(snapshotFile)
+            ? CustomerSnapshot.load(snapshotFile)
+            : CustomerSnapshot.empty();
+
+        MutableMap<String, Customer> customers = snapshot.customers();
+        long lastSequence = CustomerJournal.replay(directory, snapshot.sequence(), customers);
+        log.fine(() -> "Recovered " + customers.size() + " customers up to sequence " + lastSequence);
+
+        return new CustomerStore(directory, customers, CustomerJournal.open(directory, lastSequence + 1), lastSequence);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the customer cannot be encoded (e.g. a field over 64 KB); the store is unchanged
+     */
+    public synchronized Customer put(String id, Customer customer) {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(customer, "customer");
+        long next = sequence + 1;
+        journal.appendPut(next, id, customer);
+        sequence = next;
+        return customers.put(id, customer);
+    }
+
+    public synchronized Customer remove(String id) {
+        if (!customers.containsKey(id)) {
+            return null;
+        }
+        long next = sequence + 1;
+        journal.appendRemove(next, id);
+        sequence = next;
+        return customers.remove(id);
+    }
+
+    /**
+     * @return a read-only view of the current customers
+     */
+    public MutableMap<String, Customer> customers() {
+        return customers.asUnmodifiable();
+    }
+
+    public synchronized int size() {
+        return customers.size();
+    }
+
+    /**
+     * @return a future completed once every mutation made before this call is durable
+     */
+    public CompletableFuture<Void> sync() {
+        return journal.sync();
+    }
+
+    /**
+     * Writes a compact snapshot of the customers and discards the journal segments it covers.
+     *
+     * <p>The live map is never copied: the store lock is held only to pick the covered sequence
+     * and roll the journal. The image is then rebuilt off the hot path from the previous snapshot
+     * and the rolled journal segments, at the cost of holding a second copy of the data in memory
+     * while the snapshot is written. Concurrent calls are serialized.
+     */
+    public void snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long covered;
+            CompletableFuture<Void> rolled;
+            synchronized (this) {
+                covered = sequence;
+                rolled = journal.roll(covered + 1);
+            }
+            rolled.join();
+
+            Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+            CustomerSnapshot previous = Files.exists(snapshotFile)
+                ? CustomerSnapshot.load(snapshotFile)
+                : CustomerSnapshot.empty();
+            if (previous.sequence() < covered) {
+                MutableMap<String, Customer> image = previous.customers();
+                CustomerJournal.replay(directory, previous.sequence(), covered, image);
+                CustomerSnapshot.write(snapshotFile, covered, image);
+            }
+            journal.deleteSegmentsBefore(covered + 1);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+}
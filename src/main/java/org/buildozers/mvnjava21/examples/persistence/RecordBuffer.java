@@ -0,0 +1,27 @@
+package org.buildozers.mvnjava21.examples.persistence;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32C;
+
+/**
+ * 🧱 Record Buffer
+ *
+ * Reusable growable byte buffer that exposes its backing array, so encoded
+ * records can be checksummed and copied without an intermediate {@code toByteArray()}.
+ */
+final class RecordBuffer extends ByteArrayOutputStream {
+
+    RecordBuffer(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    byte[] array() {
+        return buf;
+    }
+
+    int checksum() {
+        CRC32C crc = new CRC32C();
+        crc.update(buf, 0, count);
+        return (int) crc.getValue();
+    }
+}
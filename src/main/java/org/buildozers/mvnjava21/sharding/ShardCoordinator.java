@@ -0,0 +1,339 @@
+package org.buildozers.mvnjava21.sharding;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.CustomerCodec;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.map.MapIterable;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.api.map.primitive.ImmutableObjectLongMap;
+import org.eclipse.collections.api.map.primitive.MutableObjectLongMap;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.Maps;
+import org.eclipse.collections.impl.factory.primitive.ObjectLongMaps;
+
+import lombok.extern.java.Log;
+
+/**
+ * 🧭 Shard Coordinator
+ *
+ * Hash-partitions customers by id across N {@link ShardWorker} JVMs on the local host and
+ * answers the showcase queries (premium count, customers by city, average spending) by
+ * scatter/gather: every worker computes a partial aggregate over its partition in parallel,
+ * and the coordinator merges them.
+ *
+ * <p>Workers are child processes talking over their stdin/stdout pipes. Puts and removes are
+ * batched per shard and sent one-way; they are flushed before every query, and pipes preserve
+ * order, so a query always sees the mutations issued before it. Records are encoded when they are
+ * queued, so an invalid argument is rejected to its caller and never reaches the pipes.
+ *
+ * <p>Any I/O failure leaves the pipes in an unknown state (e.g. replies of other shards still
+ * unread), so the coordinator then stops its workers and rejects every further call; start a
+ * new one to recover.
+ */
+@Log
+public final class ShardCoordinator implements AutoCloseable {
+
+    private static final int BATCH_SIZE = 1024;
+
+    /**
+     * Classes whose code sources make up the worker classpath: the project classes and the
+     * Eclipse Collections API and implementation jars.
+     */
+    private static final Class<?>[] WORKER_CLASSPATH = { ShardWorker.class, MutableMap.class, Maps.class };
+
+    /**
+     * A coordinator operation that talks to the workers.
+     */
+    @FunctionalInterface
+    private interface ShardCall<T> {
+        T call() throws IOException;
+    }
+
+    /**
+     * Coordinator side of one worker process.
+     */
+    private static final class Shard {
+        private final Process process;
+        private final DataOutputStream out;
+        private final DataInputStream in;
+        private final ByteArrayOutputStream pendingPuts = new ByteArrayOutputStream();
+        private final ByteArrayOutputStream pendingRemovals = new ByteArrayOutputStream();
+        private int pendingPutCount;
+        private int pendingRemovalCount;
+
+        Shard(Process process) {
+            this.process = process;
+            this.out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), 1 << 16));
+            this.in = new DataInputStream(new BufferedInputStream(process.getInputStream(), 1 << 16));
+        }
+    }
+
+    private final MutableList<Shard> shards;
+    private Exception failure;
+
+    private ShardCoordinator(MutableList<Shard> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Spawns {@code shardCount} worker JVMs using the current JVM's executable.
+     *
+     * <p>The worker classpath is derived from where the worker and Eclipse Collections classes were
+     * loaded from, not from {@code java.class.path}: under {@code mvn exec:java} that property holds
+     * Maven's own launcher classpath.
+     */
+    public static ShardCoordinator start(int shardCount, String... jvmOptions) throws IOException {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+        }
+        Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+        MutableList<String> command = Lists.mutable.of(java.toString());
+        command.addAll(Lists.mutable.of(jvmOptions));
+        command.addAll(Lists.mutable.of("-cp", workerClasspath(), ShardWorker.class.getName()));
+
+        MutableList<Shard> shards = Lists.mutable.withInitialCapacity(shardCount);
+        try {
+            for (int i = 0; i < shardCount; i++) {
+                Process process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+                shards.add(new Shard(process));
+            }
+        } catch (IOException e) {
+            shards.forEach(shard -> shard.process.destroyForcibly());
+            throw e;
+        }
+        log.fine(() -> "Started " + shardCount + " shard workers");
+        return new ShardCoordinator(shards);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @throws IllegalArgumentException if the customer cannot be encoded (e.g. a field over 64 KB);
+     *                                  the coordinator and its workers are unaffected
+     */
+    public synchronized void put(String id, Customer customer) throws IOException {
+        Objects.requireNonNull(id, "id");
+        Objects.requireNonNull(customer, "customer");
+        byte[] record = encode(id, customer);
+        this.guarded(() -> {
+            Shard shard = this.shardFor(id);
+            // Keep put/remove order for the same id
+            this.sendRemovals(shard);
+            shard.pendingPuts.writeBytes(record);
+            if (++shard.pendingPutCount >= BATCH_SIZE) {
+                this.sendPuts(shard);
+            }
+            return null;
+        });
+    }
+
+    public synchronized void putAll(MapIterable<String, Customer> customers) throws IOException {
+        for (var entry : customers.keyValuesView()) {
+            this.put(entry.getOne(), entry.getTwo());
+        }
+    }
+
+    public synchronized void remove(String id) throws IOException {
+        Objects.requireNonNull(id, "id");
+        byte[] record = encode(id, null);
+        this.guarded(() -> {
+            Shard shard = this.shardFor(id);
+            // Keep put/remove order for the same id
+            this.sendPuts(shard);
+            shard.pendingRemovals.writeBytes(record);
+            if (++shard.pendingRemovalCount >= BATCH_SIZE) {
+                this.sendRemovals(shard);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * @return the number of customers across all shards
+     */
+    public synchronized long size() throws IOException {
+        return this.guarded(() -> {
+            this.scatter(ShardProtocol.SPENDING);
+            long customers = 0;
+            for (Shard shard : shards) {
+                customers += shard.in.readLong();
+                shard.in.readDouble();
+            }
+            return customers;
+        });
+    }
+
+    public synchronized long premiumCount() throws IOException {
+        return this.guarded(() -> {
+            this.scatter(ShardProtocol.PREMIUM_COUNT);
+            long premium = 0;
+            for (Shard shard : shards) {
+                shard.in.readLong();
+                premium += shard.in.readLong();
+            }
+            return premium;
+        });
+    }
+
+    public synchronized ImmutableObjectLongMap<String> countByCity() throws IOException {
+        return this.guarded(() -> {
+            this.scatter(ShardProtocol.COUNT_BY_CITY);
+            MutableObjectLongMap<String> cities = ObjectLongMaps.mutable.empty();
+            for (Shard shard : shards) {
+                int count = shard.in.readInt();
+                for (int i = 0; i < count; i++) {
+                    cities.addToValue(CustomerCodec.readString(shard.in), shard.in.readLong());
+                }
+            }
+            return cities.toImmutable();
+        });
+    }
+
+    public synchronized double averageSpending() throws IOException {
+        return this.guarded(() -> {
+            this.scatter(ShardProtocol.SPENDING);
+            long customers = 0;
+            double totalSpent = 0.0;
+            for (Shard shard : shards) {
+                customers += shard.in.readLong();
+                totalSpent += shard.in.readDouble();
+            }
+            return customers == 0 ? 0.0 : totalSpent / customers;
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Shard shard : shards) {
+            try {
+                shard.out.writeByte(ShardProtocol.SHUTDOWN);
+                shard.out.close();
+            } catch (IOException e) {
+                // Worker already gone
+                log.fine(() -> "Shard worker closed early: " + e.getMessage());
+            }
+        }
+        for (Shard shard : shards) {
+            try {
+                if (!shard.process.waitFor(5, TimeUnit.SECONDS)) {
+                    shard.process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                shard.process.destroyForcibly();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code call} unless an earlier call failed; a failure stops the workers for good.
+     */
+    private <T> T guarded(ShardCall<T> call) throws IOException {
+        if (failure != null) {
+            throw new IOException("Shard coordinator failed earlier and can no longer be used", failure);
+        }
+        try {
+            return call.call();
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            log.warning(() -> "Stopping shard workers after a failure: " + e);
+            shards.forEach(shard -> shard.process.destroyForcibly());
+            throw e;
+        }
+    }
+
+    static String workerClasspath() {
+        return Lists.immutable.of(WORKER_CLASSPATH)
+            .collect(ShardCoordinator::codeLocation)
+            .distinct()
+            .makeString(File.pathSeparator);
+    }
+
+    private static String codeLocation(Class<?> type) {
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        if (source == null) {
+            throw new IllegalStateException("Cannot locate the classpath entry of " + type.getName());
+        }
+        try {
+            return Paths.get(source.getLocation().toURI()).toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the classpath entry of " + type.getName(), e);
+        }
+    }
+
+    private Shard shardFor(String id) {
+        return shards.get(ShardProtocol.shardOf(id, shards.size()));
+    }
+
+    /**
+     * Flushes pending mutations and sends {@code op} to every shard before reading any reply,
+     * so the workers compute their partial aggregates concurrently.
+     */
+    private void scatter(byte op) throws IOException {
+        for (Shard shard : shards) {
+            this.sendPuts(shard);
+            this.sendRemovals(shard);
+            shard.out.writeByte(op);
+            shard.out.flush();
+        }
+    }
+
+    /**
+     * Encodes a put record ({@code id, customer}) or, for a {@code null} customer, a remove record ({@code id}).
+     */
+    private static byte[] encode(String id, Customer customer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(customer == null ? 32 : 128);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            CustomerCodec.writeString(out, id);
+            if (customer != null) {
+                CustomerCodec.writeCustomer(out, customer);
+            }
+        } catch (IOException e) {
+            // In-memory streams only fail on encoding limits, which CustomerCodec reports as IllegalArgumentException
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void sendPuts(Shard shard) throws IOException {
+        if (shard.pendingPutCount == 0) {
+            return;
+        }
+        shard.out.writeByte(ShardProtocol.PUT_BATCH);
+        shard.out.writeInt(shard.pendingPutCount);
+        shard.pendingPuts.writeTo(shard.out);
+        shard.pendingPuts.reset();
+        shard.pendingPutCount = 0;
+    }
+
+    private void sendRemovals(Shard shard) throws IOException {
+        if (shard.pendingRemovalCount == 0) {
+            return;
+        }
+        shard.out.writeByte(ShardProtocol.REMOVE_BATCH);
+        shard.out.writeInt(shard.pendingRemovalCount);
+        shard.pendingRemovals.writeTo(shard.out);
+        shard.pendingRemovals.reset();
+        shard.pendingRemovalCount = 0;
+    }
+}
@@ -0,0 +1,45 @@
+package org.buildozers.mvnjava21.sharding;
+
+import org.buildozers.mvnjava21.examples.CustomerCodec;
+
+/**
+ * 🔌 Shard Protocol
+ *
+ * Binary protocol spoken between {@link ShardCoordinator} and {@link ShardWorker} over the
+ * worker's stdin/stdout pipes. Every message starts with a one-byte opcode; mutations are
+ * one-way, queries are answered with a partial aggregate. Ids, city names and customers are
+ * encoded with {@link CustomerCodec}, the same format as the persistence journal.
+ */
+final class ShardProtocol {
+
+    /** {@code int count, count x (id, customer)}: no reply. */
+    static final byte PUT_BATCH = 1;
+    /** {@code int count, count x id}: no reply. */
+    static final byte REMOVE_BATCH = 2;
+    /** Reply: {@code long customers, long premium}. */
+    static final byte PREMIUM_COUNT = 3;
+    /** Reply: {@code int cities, cities x (city, long count)}. */
+    static final byte COUNT_BY_CITY = 4;
+    /** Reply: {@code long customers, double totalSpent}. */
+    static final byte SPENDING = 5;
+    /** No reply: the worker exits. */
+    static final byte SHUTDOWN = 6;
+
+    private ShardProtocol() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Spreads the bits of {@code id.hashCode()} (murmur3 finalizer) before the modulo,
+     * so that keys sharing a prefix still land on different shards.
+     */
+    static int shardOf(String id, int shards) {
+        int h = id.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards);
+    }
+}
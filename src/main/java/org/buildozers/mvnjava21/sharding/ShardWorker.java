@@ -0,0 +1,95 @@
+package org.buildozers.mvnjava21.sharding;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.CustomerCodec;
+import org.eclipse.collections.api.bag.Bag;
+import org.eclipse.collections.api.map.MutableMap;
+import org.eclipse.collections.impl.factory.Maps;
+
+import lombok.extern.java.Log;
+
+/**
+ * 🧩 Shard Worker
+ *
+ * Child JVM holding one hash partition of the customers in a plain {@link MutableMap}.
+ * It reads {@link ShardProtocol} commands from stdin and answers queries with partial
+ * aggregates on stdout; logging goes to stderr, which the coordinator inherits.
+ */
+@Log
+public final class ShardWorker {
+
+    private final MutableMap<String, Customer> customers = Maps.mutable.empty();
+
+    private ShardWorker() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Raw descriptors: System.out must stay free of anything but protocol bytes
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in), 1 << 16));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16))) {
+            new ShardWorker().serve(in, out);
+        }
+    }
+
+    private void serve(DataInputStream in, DataOutputStream out) throws IOException {
+        while (true) {
+            byte op;
+            try {
+                op = in.readByte();
+            } catch (EOFException e) {
+                // Coordinator went away
+                return;
+            }
+            switch (op) {
+                case ShardProtocol.PUT_BATCH -> {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        customers.put(CustomerCodec.readString(in), CustomerCodec.readCustomer(in));
+                    }
+                }
+                case ShardProtocol.REMOVE_BATCH -> {
+                    int count = in.readInt();
+                    for (int i = 0; i < count; i++) {
+                        customers.remove(CustomerCodec.readString(in));
+                    }
+                }
+                case ShardProtocol.PREMIUM_COUNT -> {
+                    out.writeLong(customers.size());
+                    out.writeLong(customers.count(Customer::isPremium));
+                    out.flush();
+                }
+                case ShardProtocol.COUNT_BY_CITY -> {
+                    Bag<String> cities = customers.countBy(Customer::getCity);
+                    out.writeInt(cities.sizeDistinct());
+                    for (var city : cities.distinctView()) {
+                        CustomerCodec.writeString(out, city);
+                        out.writeLong(cities.occurrencesOf(city));
+                    }
+                    out.flush();
+                }
+                case ShardProtocol.SPENDING -> {
+                    out.writeLong(customers.size());
+                    out.writeDouble(customers.sumOfDouble(Customer::getTotalSpent));
+                    out.flush();
+                }
+                case ShardProtocol.SHUTDOWN -> {
+                    return;
+                }
+                default -> {
+                    log.severe(() -> "Unknown shard opcode " + op);
+                    throw new IOException("Unknown shard opcode " + op);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.buildozers.mvnjava21.sharding;
+
+import static org.buildozers.mvnjava21.examples.ConsoleColors.blank;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.blue;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.green;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.separator;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.whiteLabel;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.whiteLabelBold;
+import static org.buildozers.mvnjava21.examples.ConsoleColors.yellow;
+import static org.fusesource.jansi.Ansi.Color.CYAN;
+import static org.fusesource.jansi.Ansi.Color.GREEN;
+import static org.fusesource.jansi.Ansi.Color.MAGENTA;
+import static org.fusesource.jansi.Ansi.Color.YELLOW;
+
+import java.util.Random;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.api.list.primitive.IntList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.eclipse.collections.impl.factory.primitive.IntLists;
+import org.fusesource.jansi.AnsiConsole;
+
+/**
+ * 📏 Sharding Benchmark
+ *
+ * Loads the same synthetic customers into 1..N shard workers and measures load rate and
+ * scatter/gather query throughput, so scaling with worker count can be checked on one machine.
+ *
+ * <p>Usage: {@code ShardingBenchmark [--customers N] [--shards 1,2,4] [--rounds R]}.
+ */
+public final class ShardingBenchmark {
+
+    private static final ImmutableList<String> CITIES = Lists.immutable.of(
+        "New York", "San Francisco", "Chicago", "Boston", "Seattle", "Austin", "Denver", "Miami");
+
+    private ShardingBenchmark() {
+        // Entry point only - prevent instantiation
+    }
+
+    public static void main(String[] args) throws Exception {
+        int customers = 1_000_000;
+        IntList shardCounts = IntLists.immutable.of(1, 2, 4);
+        int rounds = 10;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--customers" -> customers = Integer.parseInt(args[i + 1]);
+                case "--shards" -> shardCounts = IntLists.immutable.of(
+                    Lists.immutable.of(args[i + 1].split(",")).collectInt(Integer::parseInt).toArray());
+                case "--rounds" -> rounds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        AnsiConsole.systemInstall();
+        try {
+            separator();
+            yellow("📏 Sharded customer queries: " + customers + " customers, " + rounds + " query rounds");
+            green("✨ Each round runs premium count, count by city and average spending");
+            separator();
+            blank();
+
+            double baseline = 0.0;
+            for (int shards : shardCounts.toArray()) {
+                double queriesPerSecond = run(shards, customers, rounds);
+                if (baseline == 0.0) {
+                    baseline = queriesPerSecond;
+                }
+                whiteLabelBold("  • Speedup vs " + shardCounts.getFirst() + " shard(s): ",
+                    String.format("%.2fx", queriesPerSecond / baseline), MAGENTA);
+                blank();
+            }
+        } finally {
+            AnsiConsole.systemUninstall();
+        }
+    }
+
+    private static double run(int shards, int customers, int rounds) throws Exception {
+        blue("🧩 " + shards + " shard worker(s)");
+        try (ShardCoordinator coordinator = ShardCoordinator.start(shards)) {
+            Random random = new Random(42);
+            long start = System.nanoTime();
+            for (int i = 0; i < customers; i++) {
+                coordinator.put("C" + i, randomCustomer(random, i));
+            }
+            // The first query flushes the pipes and waits for every shard to apply its batches
+            long loaded = coordinator.size();
+            double loadSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            whiteLabel("  • Loaded: ", loaded + " customers in " + String.format("%.2f s", loadSeconds), CYAN);
+
+            // Warm up the workers' JIT before measuring
+            runQueries(coordinator);
+            start = System.nanoTime();
+            for (int r = 0; r < rounds; r++) {
+                runQueries(coordinator);
+            }
+            double querySeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            double queriesPerSecond = rounds * 3 / querySeconds;
+            whiteLabelBold("  • Queries: ", String.format("%.1f queries/s", queriesPerSecond), GREEN);
+            whiteLabel("  • Scan rate: ", String.format("%.1f M customers/s", queriesPerSecond * loaded / 1_000_000.0), YELLOW);
+            return queriesPerSecond;
+        }
+    }
+
+    private static void runQueries(ShardCoordinator coordinator) throws Exception {
+        coordinator.premiumCount();
+        coordinator.countByCity();
+        coordinator.averageSpending();
+    }
+
+    private static Customer randomCustomer(Random random, int index) {
+        return Customer.builder()
+            .name("Customer " + index)
+            .email("customer" + index + "@example.com")
+            .city(CITIES.get(random.nextInt(CITIES.size())))
+            .age(18 + random.nextInt(60))
+            .totalSpent(random.nextDouble() * 2500.0)
+            .build();
+    }
+}
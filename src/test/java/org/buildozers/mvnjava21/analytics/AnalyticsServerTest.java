@@ -0,0 +1,144 @@
+package org.buildozers.mvnjava21.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.DateTimeException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Unit test for the embedded AnalyticsServer.
+ */
+@DisplayName("Given an AnalyticsServer over the sample data")
+class AnalyticsServerTest {
+
+    private static AnalyticsServer server;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = AnalyticsServer.start(0, Analytics.sample());
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        client.close();
+        server.close();
+    }
+
+    private static HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    @DisplayName("when /customers/premium-count is requested, then the premium count is returned")
+    void testPremiumCount() throws Exception {
+        // given / when
+        HttpResponse<String> response = get("/customers/premium-count");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("{\"customers\":3,\"premium\":2}");
+    }
+
+    @Test
+    @DisplayName("when a feature intersection is requested, then the sorted common features are returned")
+    void testFeatureIntersection() throws Exception {
+        // given / when
+        HttpResponse<String> response = get("/features/intersect?left=electronics&right=premium");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+            .isEqualTo("{\"operation\":\"intersect\",\"features\":[\"Retina Display\",\"Touch ID\",\"Wireless Charging\"]}");
+    }
+
+    @Test
+    @DisplayName("when a symmetric difference is requested, then the operation is echoed as it appears in the path")
+    void testOperationName() throws Exception {
+        // given / when
+        HttpResponse<String> response = get("/features/symmetric-difference?left=electronics&right=mobile");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).startsWith("{\"operation\":\"symmetric-difference\",");
+    }
+
+    @Test
+    @DisplayName("when an unknown feature set is requested, then a 400 error is returned")
+    void testUnknownFeatureSet() throws Exception {
+        // given / when
+        HttpResponse<String> response = get("/features/union?left=electronics&right=unknown");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("Unknown feature set: unknown");
+    }
+
+    @Test
+    @DisplayName("when a time range beyond the maximum is requested, then a 400 error is returned")
+    void testTimeRangeBound() throws Exception {
+        // given / when
+        HttpResponse<String> weeks = get("/products/created-per-week?weeks=2000000000");
+        HttpResponse<String> days = get("/products/recent?days=3661");
+
+        // then
+        assertThat(weeks.statusCode()).isEqualTo(400);
+        assertThat(weeks.body()).contains("between 1 and 520");
+        assertThat(days.statusCode()).isEqualTo(400);
+        assertThat(get("/products/recent?days=3660").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("when an unknown path is requested, then a 404 error is returned")
+    void testUnknownPath() throws Exception {
+        // given / when
+        HttpResponse<String> response = get("/customers/premium-count/extra");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    @DisplayName("when a route fails before its body is sent, then a 500 error is returned instead of a truncated 200")
+    void testInternalError() throws Exception {
+        // given
+        HttpServer failing = HttpServer.create(new InetSocketAddress(0), 0);
+        AnalyticsServer.route(failing, "/handle", (path, query) -> {
+            throw new DateTimeException("boom");
+        });
+        AnalyticsServer.route(failing, "/body", (path, query) -> json -> {
+            json.beginObject().name("partial").value(1);
+            throw new IllegalStateException("boom");
+        });
+        failing.start();
+
+        try {
+            // when
+            String base = "http://localhost:" + failing.getAddress().getPort();
+            HttpResponse<String> handle = client.send(HttpRequest.newBuilder(URI.create(base + "/handle")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> body = client.send(HttpRequest.newBuilder(URI.create(base + "/body")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            // then
+            assertThat(handle.statusCode()).isEqualTo(500);
+            assertThat(body.statusCode()).isEqualTo(500);
+            assertThat(body.body()).isEqualTo("{\"error\":\"Internal error\"}");
+        } finally {
+            failing.stop(0);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.buildozers.mvnjava21.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for the cached Analytics queries.
+ */
+@DisplayName("Given Analytics over the sample data")
+class AnalyticsTest {
+
+    @Test
+    @DisplayName("when a customer is put or removed, then cached customer queries are recomputed")
+    void testCustomerMutationInvalidatesCache() {
+        // given
+        Analytics analytics = Analytics.sample();
+        int premium = analytics.premiumCustomerCount();
+        long chicago = analytics.customersByCity().get("Chicago").size();
+
+        // when
+        analytics.putCustomer("C004", Customer.builder()
+            .name("Dave Brown")
+            .email("dave@example.com")
+            .city("Chicago")
+            .age(51)
+            .totalSpent(1500.00)
+            .build());
+
+        // then
+        assertThat(analytics.premiumCustomerCount()).isEqualTo(premium + 1);
+        assertThat(analytics.customersByCity().get("Chicago")).hasSize((int) chicago + 1);
+
+        // when
+        analytics.removeCustomer("C004");
+
+        // then
+        assertThat(analytics.premiumCustomerCount()).isEqualTo(premium);
+        assertThat(analytics.customersByCity().get("Chicago")).hasSize((int) chicago);
+        assertThat(analytics.cacheStats().invalidations()).isGreaterThanOrEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("when a product is added, then the cached total and the createdAt index both include it")
+    void testAddProduct() {
+        // given
+        Analytics analytics = Analytics.sample();
+        LocalDateTime now = LocalDateTime.now();
+        int products = analytics.productCount();
+        double total = analytics.totalInventoryValue();
+        long recent = analytics.recentProducts(now, 1).count();
+
+        // when
+        analytics.addProduct(Product.builder()
+            .name("Standing Desk")
+            .category("Furniture")
+            .price(450.00)
+            .quantity(2)
+            .createdAt(now.minusHours(1))
+            .build());
+
+        // then
+        assertThat(analytics.productCount()).isEqualTo(products + 1);
+        assertThat(analytics.totalInventoryValue()).isCloseTo(total + 900.00, within(1e-9));
+        assertThat(analytics.recentProducts(now, 1).count()).isEqualTo(recent + 1);
+    }
+}
@@ -0,0 +1,102 @@
+package org.buildozers.mvnjava21.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.buildozers.mvnjava21.examples.Product;
+import org.eclipse.collections.api.list.ImmutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for the day-bucketed ProductTimeIndex.
+ */
+@DisplayName("Given a ProductTimeIndex")
+class ProductTimeIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    private static Product product(LocalDateTime createdAt, double price, int quantity) {
+        return Product.builder()
+            .name("Product " + createdAt)
+            .category("Test")
+            .price(price)
+            .quantity(quantity)
+            .createdAt(createdAt)
+            .build();
+    }
+
+    @Test
+    @DisplayName("when a range cuts through day buckets, then only the products inside it are summed")
+    void testPartialBuckets() {
+        // given
+        ProductTimeIndex index = ProductTimeIndex.of(Lists.mutable.of(
+            product(START.plusHours(1), 10.0, 1),
+            product(START.plusHours(23), 20.0, 1),
+            product(START.plusDays(1).plusHours(12), 30.0, 1),
+            product(START.plusDays(2).plusHours(2), 40.0, 1),
+            product(START.plusDays(2).plusHours(20), 50.0, 1)));
+
+        // when
+        ProductTimeIndex.RangeSummary summary = index.summary(START.plusHours(12), START.plusDays(2).plusHours(12));
+
+        // then
+        assertThat(summary.count()).isEqualTo(3);
+        assertThat(summary.totalValue()).isCloseTo(90.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("when products are added out of order, then range queries still see them")
+    void testOutOfOrderAdd() {
+        // given
+        ProductTimeIndex index = new ProductTimeIndex();
+        index.add(product(START.plusDays(3), 100.0, 2));
+        index.add(product(START.plusDays(1).plusHours(6), 10.0, 1));
+        index.add(product(START.plusDays(1).plusHours(3), 5.0, 1));
+
+        // when
+        ProductTimeIndex.RangeSummary recent = index.recent(START.plusDays(2), 1);
+
+        // then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(recent.count()).isEqualTo(2);
+        assertThat(recent.totalValue()).isCloseTo(15.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("when a weekly rollup is requested, then each window carries its own count and value")
+    void testWeeklyRollup() {
+        // given
+        ProductTimeIndex index = ProductTimeIndex.of(Lists.mutable.of(
+            product(START.plusDays(1), 10.0, 1),
+            product(START.plusDays(6), 10.0, 2),
+            product(START.plusDays(8), 50.0, 1),
+            product(START.plusDays(20), 70.0, 1)));
+
+        // when
+        ImmutableList<ProductTimeIndex.RangeSummary> weeks = index.rollup(START, START.plusDays(21), Duration.ofDays(7));
+
+        // then
+        assertThat(weeks.collectLong(ProductTimeIndex.RangeSummary::count).toArray()).containsExactly(2L, 1L, 1L);
+        assertThat(weeks.collectDouble(ProductTimeIndex.RangeSummary::totalValue).toArray()).containsExactly(30.0, 50.0, 70.0);
+    }
+
+    @Test
+    @DisplayName("when a rollup needs more windows than the bound, then it is rejected before allocating them")
+    void testRollupWindowBound() {
+        // given
+        ProductTimeIndex index = ProductTimeIndex.of(Lists.mutable.of(product(START, 10.0, 1)));
+        LocalDateTime to = START.plusDays(ProductTimeIndex.MAX_ROLLUP_WINDOWS);
+
+        // when / then
+        assertThat(index.rollup(START, to, Duration.ofDays(1))).hasSize(ProductTimeIndex.MAX_ROLLUP_WINDOWS);
+        assertThatThrownBy(() -> index.rollup(START, to.plusHours(1), Duration.ofDays(1)))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("10001 windows");
+    }
+}
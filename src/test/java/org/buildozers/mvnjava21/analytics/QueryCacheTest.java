@@ -0,0 +1,109 @@
+package org.buildozers.mvnjava21.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for the weight-bounded, version-stamped QueryCache.
+ */
+@DisplayName("Given the QueryCache class")
+class QueryCacheTest {
+
+    @Test
+    @DisplayName("when the same key and version are requested twice, then the second lookup is a hit")
+    void testHit() {
+        // given
+        QueryCache cache = new QueryCache(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        String first = cache.get("query", 1L, value -> 1L, () -> "result-" + loads.incrementAndGet());
+        String second = cache.get("query", 1L, value -> 1L, () -> "result-" + loads.incrementAndGet());
+
+        // then
+        assertThat(second).isEqualTo(first).isEqualTo("result-1");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("when the data version changes, then the stale entry is invalidated and reloaded")
+    void testVersionInvalidation() {
+        // given
+        QueryCache cache = new QueryCache(10);
+        cache.get("query", 1L, value -> 1L, () -> "old");
+
+        // when
+        String result = cache.get("query", 2L, value -> 1L, () -> "new");
+
+        // then
+        assertThat(result).isEqualTo("new");
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("when the maximum weight is exceeded, then the least recently used entries are evicted")
+    void testWeightedEviction() {
+        // given
+        QueryCache cache = new QueryCache(10);
+        cache.get("a", 0L, value -> 4L, () -> "a");
+        cache.get("b", 0L, value -> 4L, () -> "b");
+        cache.get("a", 0L, value -> 4L, () -> "a");
+
+        // when
+        cache.get("c", 0L, value -> 4L, () -> "c");
+
+        // then
+        QueryCache.Stats stats = cache.stats();
+        assertThat(stats.evictions()).isEqualTo(1);
+        assertThat(stats.weightedSize()).isEqualTo(8);
+        assertThat(cache.get("a", 0L, value -> 4L, () -> "reloaded")).isEqualTo("a");
+        assertThat(cache.get("b", 0L, value -> 4L, () -> "reloaded")).isEqualTo("reloaded");
+    }
+
+    @Test
+    @DisplayName("when identical queries miss concurrently, then the result is computed only once")
+    void testSingleFlight() throws Exception {
+        // given
+        QueryCache cache = new QueryCache(10);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        MutableList<Future<String>> results = Lists.mutable.empty();
+
+        // when
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("query", 1L, value -> 1L, () -> {
+                        loads.incrementAndGet();
+                        try {
+                            Thread.sleep(100);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return "result";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get()).isEqualTo("result");
+            }
+        }
+
+        // then
+        assertThat(loads).hasValue(1);
+    }
+}
@@ -0,0 +1,157 @@
+package org.buildozers.mvnjava21.examples.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.impl.factory.Lists;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit test for the journaled CustomerStore.
+ */
+@DisplayName("Given the CustomerStore class")
+class CustomerStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private static Customer customer(String name, String city, double totalSpent) {
+        return Customer.builder()
+            .name(name)
+            .email(name.toLowerCase() + "@example.com")
+            .city(city)
+            .age(30)
+            .totalSpent(totalSpent)
+            .build();
+    }
+
+    @Test
+    @DisplayName("when the store is reopened, then journaled puts and removes are recovered")
+    void testJournalRecovery() throws Exception {
+        // given
+        try (CustomerStore store = CustomerStore.open(directory)) {
+            store.put("C001", customer("Alice", "New York", 1250.75));
+            store.put("C002", customer("Bob", "San Francisco", 750.50));
+            store.remove("C001");
+            store.sync().join();
+        }
+
+        // when
+        try (CustomerStore recovered = CustomerStore.open(directory)) {
+
+            // then
+            assertThat(recovered.customers()).containsOnlyKeys("C002");
+            assertThat(recovered.customers().get("C002")).isEqualTo(customer("Bob", "San Francisco", 750.50));
+        }
+    }
+
+    @Test
+    @DisplayName("when a snapshot is taken, then recovery combines it with the journal tail")
+    void testSnapshotRecovery() throws Exception {
+        // given
+        try (CustomerStore store = CustomerStore.open(directory)) {
+            store.put("C001", customer("Alice", "New York", 1250.75));
+            store.put("C002", customer("Bob", "San Francisco", 750.50));
+            store.snapshot();
+            store.put("C003", customer("Carol", "Chicago", 2100.25));
+            store.remove("C002");
+        }
+
+        // when
+        try (CustomerStore recovered = CustomerStore.open(directory)) {
+
+            // then
+            assertThat(recovered.customers()).containsOnlyKeys("C001", "C003");
+        }
+    }
+
+    @Test
+    @DisplayName("when the journal ends with a torn record, then the valid prefix is recovered")
+    void testTornTail() throws Exception {
+        // given
+        try (CustomerStore store = CustomerStore.open(directory)) {
+            store.put("C001", customer("Alice", "New York", 1250.75));
+        }
+        try (var files = Files.list(directory)) {
+            Path segment = files.filter(path -> path.toString().endsWith(".log")).findFirst().orElseThrow();
+            Files.write(segment, new byte[] { 0, 0, 0, 42, 1, 2, 3 }, StandardOpenOption.APPEND);
+        }
+
+        // when
+        try (CustomerStore recovered = CustomerStore.open(directory)) {
+
+            // then
+            assertThat(recovered.customers()).containsOnlyKeys("C001");
+        }
+    }
+
+    @Test
+    @DisplayName("when a customer cannot be encoded, then put fails and the store keeps journaling")
+    void testUnencodableCustomer() throws Exception {
+        // given
+        Customer oversized = customer("Mallory", "x".repeat(70_000), 1.0);
+
+        try (CustomerStore store = CustomerStore.open(directory)) {
+            // when
+            assertThatThrownBy(() -> store.put("C666", oversized)).isInstanceOf(IllegalArgumentException.class);
+            store.put("C001", customer("Alice", "New York", 1250.75));
+            store.sync().join();
+
+            // then
+            assertThat(store.customers()).containsOnlyKeys("C001");
+        }
+        try (CustomerStore recovered = CustomerStore.open(directory)) {
+            assertThat(recovered.customers()).containsOnlyKeys("C001");
+        }
+    }
+
+    @Test
+    @DisplayName("when snapshots run concurrently with writers, then recovery sees every mutation")
+    void testConcurrentSnapshots() throws Exception {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try (CustomerStore store = CustomerStore.open(directory)) {
+            // when
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    store.put("C" + i, customer("Customer" + i, "Chicago", i));
+                }
+            });
+            MutableList<Future<?>> snapshots = Lists.mutable.empty();
+            for (int t = 0; t < 2; t++) {
+                snapshots.add(executor.submit(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        store.snapshot();
+                    }
+                    return null;
+                }));
+            }
+            writer.get();
+            for (Future<?> snapshot : snapshots) {
+                snapshot.get();
+            }
+            store.snapshot();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        try (CustomerStore recovered = CustomerStore.open(directory)) {
+            assertThat(recovered.size()).isEqualTo(5_000);
+        }
+        try (var files = Files.list(directory)) {
+            assertThat(files.filter(path -> path.toString().endsWith(".log")).count()).isEqualTo(1L);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.buildozers.mvnjava21.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+
+import org.buildozers.mvnjava21.examples.Customer;
+import org.buildozers.mvnjava21.examples.SampleData;
+import org.eclipse.collections.api.map.MutableMap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for the multi-process ShardCoordinator.
+ */
+@DisplayName("Given a ShardCoordinator with two worker processes")
+class ShardCoordinatorTest {
+
+    @Test
+    @DisplayName("when customers are sharded, then merged aggregates match the single-map queries")
+    void testScatterGather() throws Exception {
+        // given
+        MutableMap<String, Customer> customers = SampleData.customers();
+        customers.put("C004", Customer.builder()
+            .name("Dave Brown")
+            .email("dave@example.com")
+            .city("Chicago")
+            .age(51)
+            .totalSpent(1500.00)
+            .build());
+
+        try (ShardCoordinator coordinator = ShardCoordinator.start(2)) {
+            // when
+            coordinator.putAll(customers);
+
+            // then
+            assertThat(coordinator.size()).isEqualTo(customers.size());
+            assertThat(coordinator.premiumCount()).isEqualTo(customers.count(Customer::isPremium));
+            assertThat(coordinator.countByCity().get("Chicago")).isEqualTo(2L);
+            assertThat(coordinator.averageSpending())
+                .isCloseTo(customers.sumOfDouble(Customer::getTotalSpent) / customers.size(), within(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("when a customer is removed, then later queries no longer see it")
+    void testRemove() throws Exception {
+        // given
+        try (ShardCoordinator coordinator = ShardCoordinator.start(2)) {
+            coordinator.putAll(SampleData.customers());
+
+            // when
+            coordinator.remove("C003");
+
+            // then
+            assertThat(coordinator.size()).isEqualTo(2L);
+            assertThat(coordinator.countByCity().containsKey("Chicago")).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("when a removed customer is put again, then queries see the new version")
+    void testPutAfterRemove() throws Exception {
+        // given
+        try (ShardCoordinator coordinator = ShardCoordinator.start(2)) {
+            coordinator.putAll(SampleData.customers());
+
+            // when
+            Customer moved = Customer.builder()
+                .name("Carol Williams")
+                .email("carol@example.com")
+                .city("Boston")
+                .age(42)
+                .totalSpent(2100.25)
+                .build();
+            coordinator.remove("C003");
+            coordinator.put("C003", moved);
+
+            // then
+            assertThat(coordinator.size()).isEqualTo(3L);
+            assertThat(coordinator.countByCity().containsKey("Chicago")).isFalse();
+            assertThat(coordinator.countByCity().get("Boston")).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    @DisplayName("when java.class.path does not list the project, then workers still start from the derived classpath")
+    void testWorkerClasspath() throws Exception {
+        // given
+        String classPath = System.getProperty("java.class.path");
+        System.setProperty("java.class.path", "");
+        try (ShardCoordinator coordinator = ShardCoordinator.start(1)) {
+            // when
+            coordinator.putAll(SampleData.customers());
+
+            // then
+            assertThat(coordinator.size()).isEqualTo(3L);
+        } finally {
+            System.setProperty("java.class.path", classPath);
+        }
+    }
+
+    @Test
+    @DisplayName("when a worker dies, then the failing query and every later call are rejected")
+    void testWorkerFailure() throws Exception {
+        // given
+        try (ShardCoordinator coordinator = ShardCoordinator.start(2)) {
+            coordinator.putAll(SampleData.customers());
+            assertThat(coordinator.size()).isEqualTo(3L);
+
+            // when
+            ProcessHandle worker = ProcessHandle.current().children().findFirst().orElseThrow();
+            worker.destroyForcibly();
+            worker.onExit().join();
+
+            // then
+            assertThatThrownBy(coordinator::countByCity).isInstanceOf(IOException.class);
+            assertThatThrownBy(coordinator::size)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("failed earlier");
+        }
+    }
+
+    @Test
+    @DisplayName("when an invalid put is attempted, then it is rejected and the coordinator keeps working")
+    void testInvalidPut() throws Exception {
+        // given
+        Customer oversized = Customer.builder()
+            .name("x".repeat(70_000))
+            .email("mallory@example.com")
+            .city("Chicago")
+            .age(30)
+            .totalSpent(100.00)
+            .build();
+
+        try (ShardCoordinator coordinator = ShardCoordinator.start(2)) {
+            coordinator.putAll(SampleData.customers());
+
+            // when
+            assertThatThrownBy(() -> coordinator.put("C666", oversized)).isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> coordinator.put(null, oversized)).isInstanceOf(NullPointerException.class);
+            coordinator.remove("C001");
+
+            // then
+            assertThat(coordinator.size()).isEqualTo(2L);
+            assertThat(coordinator.premiumCount()).isEqualTo(1L);
+        }
+    }
+}